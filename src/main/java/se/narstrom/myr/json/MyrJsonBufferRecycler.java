@@ -0,0 +1,51 @@
+package se.narstrom.myr.json;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public final class MyrJsonBufferRecycler {
+	private final int charBufferSize;
+
+	private final int byteBufferSize;
+
+	private final int mask;
+
+	private final AtomicReferenceArray<char[]> chars;
+
+	private final AtomicReferenceArray<byte[]> bytes;
+
+	public MyrJsonBufferRecycler(final int charBufferSize, final int byteBufferSize) {
+		if (charBufferSize <= 0 || byteBufferSize <= 0)
+			throw new IllegalArgumentException("Buffer size must be positive");
+		final int stripes = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1;
+		this.charBufferSize = charBufferSize;
+		this.byteBufferSize = byteBufferSize;
+		this.mask = stripes - 1;
+		this.chars = new AtomicReferenceArray<>(stripes);
+		this.bytes = new AtomicReferenceArray<>(stripes);
+	}
+
+	public byte[] acquireBytes() {
+		final byte[] buffer = bytes.getAndSet(stripe(), null);
+		return buffer != null ? buffer : new byte[byteBufferSize];
+	}
+
+	public char[] acquireChars() {
+		final char[] buffer = chars.getAndSet(stripe(), null);
+		return buffer != null ? buffer : new char[charBufferSize];
+	}
+
+	public void releaseBytes(final byte[] buffer) {
+		if (buffer.length == byteBufferSize)
+			bytes.compareAndSet(stripe(), null, buffer);
+	}
+
+	public void releaseChars(final char[] buffer) {
+		if (buffer.length == charBufferSize)
+			chars.compareAndSet(stripe(), null, buffer);
+	}
+
+	private int stripe() {
+		final long id = Thread.currentThread().threadId();
+		return (int) (id ^ (id >>> 16)) & mask;
+	}
+}
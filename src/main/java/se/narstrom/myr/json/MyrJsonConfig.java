@@ -0,0 +1,26 @@
+package se.narstrom.myr.json;
+
+public final class MyrJsonConfig {
+	public static final String BUFFER_SIZE = "se.narstrom.myr.json.MyrJsonConfig.bufferSize";
+
+	public static final String DOUBLE_NUMBERS = "se.narstrom.myr.json.MyrJsonConfig.doubleNumbers";
+
+	public static final String EXCLUDE = "se.narstrom.myr.json.MyrJsonConfig.exclude";
+
+	public static final String INCLUDE = "se.narstrom.myr.json.MyrJsonConfig.include";
+
+	public static final String LAZY_TREES = "se.narstrom.myr.json.MyrJsonConfig.lazyTrees";
+
+	public static final String MAX_DEPTH = "se.narstrom.myr.json.MyrJsonConfig.maxDepth";
+
+	public static final String PARALLEL_ARRAYS = "se.narstrom.myr.json.MyrJsonConfig.parallelArrays";
+
+	public static final String SHAPE_CACHE_SIZE = "se.narstrom.myr.json.MyrJsonConfig.shapeCacheSize";
+
+	public static final String STRUCTURAL_INDEX = "se.narstrom.myr.json.MyrJsonConfig.structuralIndex";
+
+	public static final String SYMBOL_TABLE_SIZE = "se.narstrom.myr.json.MyrJsonConfig.symbolTableSize";
+
+	private MyrJsonConfig() {
+	}
+}
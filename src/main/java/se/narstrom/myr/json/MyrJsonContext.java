@@ -1,5 +1,7 @@
 package se.narstrom.myr.json;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import jakarta.json.JsonBuilderFactory;
@@ -9,19 +11,29 @@ import jakarta.json.JsonReaderFactory;
 import jakarta.json.JsonWriterFactory;
 import jakarta.json.stream.JsonGenerator;
 import jakarta.json.stream.JsonGeneratorFactory;
-import jakarta.json.stream.JsonParserFactory;
 import se.narstrom.myr.json.factory.MyrJsonBuilderFactory;
 import se.narstrom.myr.json.factory.MyrJsonGeneratorFactory;
 import se.narstrom.myr.json.factory.MyrJsonParserFactory;
 import se.narstrom.myr.json.factory.MyrJsonReaderFactory;
 import se.narstrom.myr.json.factory.MyrJsonWriterFactory;
+import se.narstrom.myr.json.io.MyrJsonProjection;
+import se.narstrom.myr.json.parser.MyrJsonSymbolTable;
+import se.narstrom.myr.json.value.MyrJsonShapeCache;
 
 public final class MyrJsonContext {
+	private static final int DEFAULT_BYTE_BUFFER_SIZE = 8192;
+
+	private static final int DEFAULT_CHAR_BUFFER_SIZE = 4096;
+
+	private static final int DEFAULT_MAX_DEPTH = 1000;
+
+	private static final int DEFAULT_SHAPE_CACHE_SIZE = 256;
+
 	private final JsonBuilderFactory defaultBuilderFactory = new MyrJsonBuilderFactory(this);
 
 	private final JsonGeneratorFactory defaultGeneratorFactory = new MyrJsonGeneratorFactory(this);
 
-	private final JsonParserFactory defaultParserFactory = new MyrJsonParserFactory(this);
+	private final MyrJsonParserFactory defaultParserFactory = new MyrJsonParserFactory(this);
 
 	private final JsonReaderFactory defaultReaderFactory = new MyrJsonReaderFactory(this);
 
@@ -29,11 +41,53 @@ public final class MyrJsonContext {
 
 	private final KeyStrategy keyStrategy;
 
+	private final int bufferSize;
+
+	private final MyrJsonBufferRecycler bufferRecycler;
+
+	private final boolean doubleNumbers;
+
+	private final List<String> exclude;
+
+	private final List<String> include;
+
+	private final boolean lazyTrees;
+
+	private final int maxDepth;
+
+	private final boolean parallelArrays;
+
+	private final int shapeCacheSize;
+
+	private final MyrJsonShapeCache shapeCache;
+
+	private final boolean structuralIndex;
+
+	private final int symbolTableSize;
+
+	private final MyrJsonSymbolTable symbolTable;
+
+	private final MyrJsonProjection projection;
+
 	private final Object prettyPrinting;
 
 	public MyrJsonContext(final Map<String, ?> config) {
 		this.keyStrategy = (KeyStrategy) config.get(JsonConfig.KEY_STRATEGY);
 		this.prettyPrinting = config.get(JsonGenerator.PRETTY_PRINTING);
+		this.bufferSize = intValue(config.get(MyrJsonConfig.BUFFER_SIZE));
+		this.bufferRecycler = new MyrJsonBufferRecycler(bufferSize > 0 ? bufferSize : DEFAULT_CHAR_BUFFER_SIZE, bufferSize > 0 ? bufferSize : DEFAULT_BYTE_BUFFER_SIZE);
+		this.doubleNumbers = isEnabled(config.get(MyrJsonConfig.DOUBLE_NUMBERS));
+		this.exclude = stringList(config.get(MyrJsonConfig.EXCLUDE));
+		this.include = stringList(config.get(MyrJsonConfig.INCLUDE));
+		this.projection = MyrJsonProjection.of(include, exclude);
+		this.lazyTrees = isEnabled(config.get(MyrJsonConfig.LAZY_TREES));
+		this.maxDepth = intValue(config.get(MyrJsonConfig.MAX_DEPTH));
+		this.parallelArrays = isEnabled(config.get(MyrJsonConfig.PARALLEL_ARRAYS));
+		this.shapeCacheSize = intValue(config.get(MyrJsonConfig.SHAPE_CACHE_SIZE));
+		this.shapeCache = new MyrJsonShapeCache(shapeCacheSize > 0 ? shapeCacheSize : DEFAULT_SHAPE_CACHE_SIZE);
+		this.structuralIndex = isEnabled(config.get(MyrJsonConfig.STRUCTURAL_INDEX));
+		this.symbolTableSize = intValue(config.get(MyrJsonConfig.SYMBOL_TABLE_SIZE));
+		this.symbolTable = symbolTableSize > 0 ? new MyrJsonSymbolTable(symbolTableSize) : null;
 	}
 
 	public JsonBuilderFactory defaultBuilderFactory() {
@@ -44,7 +98,7 @@ public final class MyrJsonContext {
 		return this.defaultGeneratorFactory;
 	}
 
-	public JsonParserFactory defaultParserFactory() {
+	public MyrJsonParserFactory defaultParserFactory() {
 		return this.defaultParserFactory;
 	}
 
@@ -56,6 +110,22 @@ public final class MyrJsonContext {
 		return this.defaultWriterFactory;
 	}
 
+	public MyrJsonBufferRecycler getBufferRecycler() {
+		return bufferRecycler;
+	}
+
+	public int getConfiguredBufferSize() {
+		return bufferSize;
+	}
+
+	public List<String> getConfiguredExclude() {
+		return exclude;
+	}
+
+	public List<String> getConfiguredInclude() {
+		return include;
+	}
+
 	public KeyStrategy getConfiguredKeyStrategy() {
 		return keyStrategy;
 	}
@@ -64,10 +134,81 @@ public final class MyrJsonContext {
 		return prettyPrinting;
 	}
 
+	public int getConfiguredMaxDepth() {
+		return maxDepth;
+	}
+
+	public int getConfiguredShapeCacheSize() {
+		return shapeCacheSize;
+	}
+
+	public int getConfiguredSymbolTableSize() {
+		return symbolTableSize;
+	}
+
+	public MyrJsonProjection getProjection() {
+		return projection;
+	}
+
+	public MyrJsonShapeCache getShapeCache() {
+		return shapeCache;
+	}
+
+	public MyrJsonSymbolTable getSymbolTable() {
+		return symbolTable;
+	}
+
+	public boolean isDoubleNumbers() {
+		return doubleNumbers;
+	}
+
+	public boolean isLazyTrees() {
+		return lazyTrees;
+	}
+
+	public boolean isParallelArrays() {
+		return parallelArrays;
+	}
+
+	public boolean isStructuralIndex() {
+		return structuralIndex;
+	}
+
 	public KeyStrategy getKeyStrategy() {
 		if (keyStrategy == null)
 			return KeyStrategy.LAST;
 		else
 			return this.keyStrategy;
 	}
+
+	public int getMaxDepth() {
+		if (maxDepth <= 0)
+			return DEFAULT_MAX_DEPTH;
+		else
+			return maxDepth;
+	}
+
+	private static int intValue(final Object value) {
+		return switch (value) {
+			case Number val -> val.intValue();
+			case String val -> Integer.parseInt(val);
+			case null, default -> 0;
+		};
+	}
+
+	private static boolean isEnabled(final Object value) {
+		return switch (value) {
+			case Boolean val -> val;
+			case String val -> Boolean.parseBoolean(val);
+			case null, default -> false;
+		};
+	}
+
+	private static List<String> stringList(final Object value) {
+		return switch (value) {
+			case Collection<?> val -> val.stream().map(String::valueOf).toList();
+			case String val -> List.of(val);
+			case null, default -> List.of();
+		};
+	}
 }
@@ -0,0 +1,65 @@
+package se.narstrom.myr.json;
+
+import java.util.Arrays;
+
+public final class MyrJsonDepthStack {
+	private final int maxDepth;
+
+	private long[] arrays = new long[1];
+
+	private int depth = 0;
+
+	public MyrJsonDepthStack(final int maxDepth) {
+		if (maxDepth <= 0)
+			throw new IllegalArgumentException("Maximum depth must be positive");
+		this.maxDepth = maxDepth;
+	}
+
+	public void clear() {
+		depth = 0;
+	}
+
+	public int depth() {
+		return depth;
+	}
+
+	public boolean isArray() {
+		if (depth == 0)
+			throw new IllegalStateException();
+		final int top = depth - 1;
+		return (arrays[top >>> 6] & (1L << top)) != 0;
+	}
+
+	public boolean isEmpty() {
+		return depth == 0;
+	}
+
+	public boolean isFull() {
+		return depth == maxDepth;
+	}
+
+	public int maxDepth() {
+		return maxDepth;
+	}
+
+	public boolean pop() {
+		final boolean array = isArray();
+		--depth;
+		return array;
+	}
+
+	public void push(final boolean array) {
+		if (depth == maxDepth)
+			throw new IllegalStateException("Maximum depth " + maxDepth + " exceeded");
+
+		final int word = depth >>> 6;
+		if (word == arrays.length)
+			arrays = Arrays.copyOf(arrays, arrays.length * 2);
+
+		if (array)
+			arrays[word] |= 1L << depth;
+		else
+			arrays[word] &= ~(1L << depth);
+		++depth;
+	}
+}
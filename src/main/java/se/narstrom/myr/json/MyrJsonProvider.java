@@ -6,6 +6,9 @@ import java.io.Reader;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Map;
 
@@ -36,6 +39,7 @@ import se.narstrom.myr.json.factory.MyrJsonGeneratorFactory;
 import se.narstrom.myr.json.factory.MyrJsonParserFactory;
 import se.narstrom.myr.json.factory.MyrJsonReaderFactory;
 import se.narstrom.myr.json.factory.MyrJsonWriterFactory;
+import se.narstrom.myr.json.parser.MyrJsonUtf8Parser;
 import se.narstrom.myr.json.patch.MyrJsonPatch;
 import se.narstrom.myr.json.patch.MyrJsonPatchBuilder;
 import se.narstrom.myr.json.patch.MyrJsonMergePatch;
@@ -125,11 +129,35 @@ public final class MyrJsonProvider extends JsonProvider {
 		return defaultContext.defaultParserFactory().createParser(in);
 	}
 
+	public JsonParser createParser(final byte[] bytes, final int offset, final int length) {
+		return defaultContext.defaultParserFactory().createParser(bytes, offset, length);
+	}
+
+	public JsonParser createParser(final ByteBuffer buffer) {
+		return defaultContext.defaultParserFactory().createParser(buffer);
+	}
+
+	public JsonParser createParser(final CharSequence text) {
+		return defaultContext.defaultParserFactory().createParser(text);
+	}
+
+	public JsonParser createParser(final FileChannel channel) {
+		return defaultContext.defaultParserFactory().createParser(channel);
+	}
+
+	public JsonParser createParser(final Path path) {
+		return defaultContext.defaultParserFactory().createParser(path);
+	}
+
 	@Override
 	public JsonParser createParser(final Reader reader) {
 		return defaultContext.defaultParserFactory().createParser(reader);
 	}
 
+	public MyrJsonUtf8Parser createPushParser() {
+		return defaultContext.defaultParserFactory().createPushParser();
+	}
+
 	@Override
 	public JsonParserFactory createParserFactory(final Map<String, ?> config) {
 		if (config == null)
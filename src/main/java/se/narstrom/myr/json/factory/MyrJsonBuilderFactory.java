@@ -3,6 +3,8 @@ package se.narstrom.myr.json.factory;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 import jakarta.json.JsonArray;
@@ -13,6 +15,7 @@ import jakarta.json.JsonConfig.KeyStrategy;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonObjectBuilder;
 import jakarta.json.JsonValue;
+import se.narstrom.myr.json.MyrJsonConfig;
 import se.narstrom.myr.json.MyrJsonContext;
 import se.narstrom.myr.json.value.MyrJsonArrayBuilder;
 import se.narstrom.myr.json.value.MyrJsonNumber;
@@ -76,11 +79,13 @@ public final class MyrJsonBuilderFactory implements JsonBuilderFactory {
 
 	@Override
 	public Map<String, ?> getConfigInUse() {
+		final Map<String, Object> config = new HashMap<>();
 		final KeyStrategy keyStrategy = context.getConfiguredKeyStrategy();
 		if (keyStrategy != null)
-			return Map.of(JsonConfig.KEY_STRATEGY, keyStrategy);
-		else
-			return Map.of();
+			config.put(JsonConfig.KEY_STRATEGY, keyStrategy);
+		if (context.getConfiguredShapeCacheSize() > 0)
+			config.put(MyrJsonConfig.SHAPE_CACHE_SIZE, context.getConfiguredShapeCacheSize());
+		return Collections.unmodifiableMap(config);
 	}
 
 	private JsonValue createJsonValue(final Object obj) {
@@ -5,10 +5,13 @@ import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 import jakarta.json.stream.JsonGenerator;
 import jakarta.json.stream.JsonGeneratorFactory;
+import se.narstrom.myr.json.MyrJsonConfig;
 import se.narstrom.myr.json.MyrJsonContext;
 import se.narstrom.myr.json.generator.MyrJsonGenerator;
 
@@ -31,16 +34,20 @@ public final class MyrJsonGeneratorFactory implements JsonGeneratorFactory {
 
 	@Override
 	public JsonGenerator createGenerator(final Writer writer) {
-		return new MyrJsonGenerator(writer);
+		return new MyrJsonGenerator(writer, context);
 	}
 
 	@Override
 	public Map<String, ?> getConfigInUse() {
+		final Map<String, Object> config = new HashMap<>();
+		if (context.getConfiguredBufferSize() > 0)
+			config.put(MyrJsonConfig.BUFFER_SIZE, context.getConfiguredBufferSize());
 		final Object prettyPrinting = context.getConfiguredPrettyPrinting();
 		if (prettyPrinting != null)
-			return Map.of(JsonGenerator.PRETTY_PRINTING, prettyPrinting);
-		else
-			return Map.of();
+			config.put(JsonGenerator.PRETTY_PRINTING, prettyPrinting);
+		if (context.getConfiguredMaxDepth() > 0)
+			config.put(MyrJsonConfig.MAX_DEPTH, context.getConfiguredMaxDepth());
+		return Collections.unmodifiableMap(config);
 	}
 
 }
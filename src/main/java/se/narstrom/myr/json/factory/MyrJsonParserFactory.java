@@ -5,20 +5,35 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PushbackInputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 import jakarta.json.JsonArray;
+import jakarta.json.JsonException;
 import jakarta.json.JsonObject;
 import jakarta.json.stream.JsonParser;
 import jakarta.json.stream.JsonParserFactory;
 import jakarta.json.stream.JsonParsingException;
+import se.narstrom.myr.json.MyrJsonConfig;
 import se.narstrom.myr.json.MyrJsonContext;
 import se.narstrom.myr.json.parser.MyrJsonArrayParser;
 import se.narstrom.myr.json.parser.MyrJsonLocation;
 import se.narstrom.myr.json.parser.MyrJsonObjectParser;
 import se.narstrom.myr.json.parser.MyrJsonStreamParser;
+import se.narstrom.myr.json.parser.MyrJsonTapeParser;
+import se.narstrom.myr.json.parser.MyrJsonUtf8Parser;
+import se.narstrom.myr.json.value.MyrJsonTape;
+import se.narstrom.myr.json.value.MyrJsonTapeArray;
+import se.narstrom.myr.json.value.MyrJsonTapeObject;
 
 public final class MyrJsonParserFactory implements JsonParserFactory {
 	private final MyrJsonContext context;
@@ -33,7 +48,10 @@ public final class MyrJsonParserFactory implements JsonParserFactory {
 			final PushbackInputStream pbin = new PushbackInputStream(in, 4);
 			final byte[] bs = in.readNBytes(4);
 			pbin.unread(bs);
-			return createParser(new InputStreamReader(pbin, detectCharset(bs)));
+			final Charset charset = detectCharset(bs);
+			if (charset == StandardCharsets.UTF_8)
+				return new MyrJsonUtf8Parser(pbin, context);
+			return createParser(new InputStreamReader(pbin, charset));
 		} catch (final IOException ex) {
 			throw new JsonParsingException(ex.getMessage(), ex, new MyrJsonLocation(1, 1, 0));
 		}
@@ -41,19 +59,77 @@ public final class MyrJsonParserFactory implements JsonParserFactory {
 
 	@Override
 	public JsonParser createParser(final InputStream in, final Charset charset) {
+		if (StandardCharsets.UTF_8.equals(charset))
+			return new MyrJsonUtf8Parser(in, context);
 		return createParser(new InputStreamReader(in, charset));
 	}
 
+	public JsonParser createParser(final byte[] bytes, final int offset, final int length) {
+		return createParser(ByteBuffer.wrap(bytes, offset, length));
+	}
+
+	public JsonParser createParser(final ByteBuffer buffer) {
+		final byte[] head = new byte[Math.min(4, buffer.remaining())];
+		buffer.get(buffer.position(), head);
+		final Charset charset = detectCharset(head);
+		if (charset != StandardCharsets.UTF_8)
+			return createParser(charset.decode(buffer.duplicate()));
+		return new MyrJsonUtf8Parser(buffer, context);
+	}
+
+	public JsonParser createParser(final CharSequence text) {
+		return new MyrJsonStreamParser(text, context);
+	}
+
+	public JsonParser createParser(final FileChannel channel) {
+		try {
+			final ByteBuffer head = ByteBuffer.allocate(4);
+			channel.read(head, channel.position());
+			final Charset charset = detectCharset(Arrays.copyOf(head.array(), head.position()));
+			if (charset != StandardCharsets.UTF_8)
+				return createParser(Channels.newInputStream(channel), charset);
+			return new MyrJsonUtf8Parser(channel, context);
+		} catch (final IOException ex) {
+			throw new JsonParsingException(ex.getMessage(), ex, new MyrJsonLocation(1, 1, 0));
+		}
+	}
+
+	public MyrJsonUtf8Parser createPushParser() {
+		return new MyrJsonUtf8Parser(context);
+	}
+
 	@Override
 	public JsonParser createParser(final JsonArray array) {
+		if (array instanceof MyrJsonTapeArray view)
+			return new MyrJsonTapeParser(view.getTape(), view.getIndex(), context);
 		return new MyrJsonArrayParser(array, context);
 	}
 
 	@Override
 	public JsonParser createParser(final JsonObject object) {
+		if (object instanceof MyrJsonTapeObject view)
+			return new MyrJsonTapeParser(view.getTape(), view.getIndex(), context);
 		return new MyrJsonObjectParser(object, context);
 	}
 
+	public JsonParser createParser(final MyrJsonTape tape) {
+		return new MyrJsonTapeParser(tape, 0, context);
+	}
+
+	public JsonParser createParser(final Path path) {
+		try {
+			final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+			try {
+				return createParser(channel);
+			} catch (final JsonException ex) {
+				channel.close();
+				throw ex;
+			}
+		} catch (final IOException ex) {
+			throw new JsonException(ex.getMessage(), ex);
+		}
+	}
+
 	@Override
 	public JsonParser createParser(final Reader reader) {
 		return new MyrJsonStreamParser(reader, context);
@@ -61,7 +137,22 @@ public final class MyrJsonParserFactory implements JsonParserFactory {
 
 	@Override
 	public Map<String, ?> getConfigInUse() {
-		return Map.of();
+		final Map<String, Object> config = new HashMap<>();
+		if (context.getConfiguredBufferSize() > 0)
+			config.put(MyrJsonConfig.BUFFER_SIZE, context.getConfiguredBufferSize());
+		if (context.isDoubleNumbers())
+			config.put(MyrJsonConfig.DOUBLE_NUMBERS, true);
+		if (context.isLazyTrees())
+			config.put(MyrJsonConfig.LAZY_TREES, true);
+		if (context.getConfiguredMaxDepth() > 0)
+			config.put(MyrJsonConfig.MAX_DEPTH, context.getConfiguredMaxDepth());
+		if (context.isParallelArrays())
+			config.put(MyrJsonConfig.PARALLEL_ARRAYS, true);
+		if (context.isStructuralIndex())
+			config.put(MyrJsonConfig.STRUCTURAL_INDEX, true);
+		if (context.getSymbolTable() != null)
+			config.put(MyrJsonConfig.SYMBOL_TABLE_SIZE, context.getConfiguredSymbolTableSize());
+		return Collections.unmodifiableMap(config);
 	}
 
 	private final Charset detectCharset(final byte[] bs) {
@@ -2,11 +2,15 @@ package se.narstrom.myr.json.factory;
 
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 import jakarta.json.JsonReader;
 import jakarta.json.JsonReaderFactory;
+import se.narstrom.myr.json.MyrJsonConfig;
 import se.narstrom.myr.json.MyrJsonContext;
 import se.narstrom.myr.json.io.MyrJsonReader;
 
@@ -17,6 +21,14 @@ public final class MyrJsonReaderFactory implements JsonReaderFactory {
 		this.context = context;
 	}
 
+	public JsonReader createReader(final ByteBuffer buffer) {
+		return new MyrJsonReader(context.defaultParserFactory().createParser(buffer), context);
+	}
+
+	public JsonReader createReader(final CharSequence text) {
+		return new MyrJsonReader(context.defaultParserFactory().createParser(text), context);
+	}
+
 	@Override
 	public JsonReader createReader(final InputStream in) {
 		return new MyrJsonReader(context.defaultParserFactory().createParser(in), context);
@@ -34,6 +46,13 @@ public final class MyrJsonReaderFactory implements JsonReaderFactory {
 
 	@Override
 	public Map<String, ?> getConfigInUse() {
-		return context.defaultParserFactory().getConfigInUse();
+		final Map<String, Object> config = new HashMap<>(context.defaultParserFactory().getConfigInUse());
+		if (!context.getConfiguredExclude().isEmpty())
+			config.put(MyrJsonConfig.EXCLUDE, context.getConfiguredExclude());
+		if (!context.getConfiguredInclude().isEmpty())
+			config.put(MyrJsonConfig.INCLUDE, context.getConfiguredInclude());
+		if (context.getConfiguredShapeCacheSize() > 0)
+			config.put(MyrJsonConfig.SHAPE_CACHE_SIZE, context.getConfiguredShapeCacheSize());
+		return Collections.unmodifiableMap(config);
 	}
 }
@@ -4,8 +4,6 @@ import java.io.IOException;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.ArrayDeque;
-import java.util.Deque;
 import java.util.Map;
 
 import jakarta.json.JsonArray;
@@ -13,37 +11,77 @@ import jakarta.json.JsonNumber;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonString;
 import jakarta.json.JsonValue;
-import jakarta.json.JsonValue.ValueType;
 import jakarta.json.stream.JsonGenerationException;
 import jakarta.json.stream.JsonGenerator;
+import se.narstrom.myr.json.MyrJsonBufferRecycler;
+import se.narstrom.myr.json.MyrJsonContext;
+import se.narstrom.myr.json.MyrJsonDepthStack;
 
 public final class MyrJsonGenerator implements JsonGenerator {
-	private final Writer writer;
+	private final MyrJsonBufferRecycler recycler;
 
-	private final Deque<ValueType> stack = new ArrayDeque<>();
+	private final MyrJsonDepthStack stack;
+
+	private Writer writer;
+
+	private char[] buf;
+
+	private int bufp = 0;
 
 	private State state = State.INIT;
 
 	private boolean comma = false;
 
-	public MyrJsonGenerator(final Writer writer) {
+	public MyrJsonGenerator(final Writer writer, final MyrJsonContext context) {
+		this.recycler = context.getBufferRecycler();
+		this.stack = new MyrJsonDepthStack(context.getMaxDepth());
 		this.writer = writer;
+		this.buf = recycler.acquireChars();
+	}
+
+	public void reset(final Writer writer) {
+		if (buf == null) {
+			buf = recycler.acquireChars();
+		} else {
+			try {
+				flushBuffer();
+				if (this.writer != writer)
+					this.writer.close();
+			} catch (final IOException ex) {
+				throw new JsonGenerationException(ex.getMessage(), ex);
+			}
+		}
+		this.writer = writer;
+		stack.clear();
+		state = State.INIT;
+		comma = false;
 	}
 
 	@Override
 	public void close() {
-		if(state != State.END)
-			throw new JsonGenerationException("Wrong state: " + state);
+		if (state == State.CLOSED)
+			return;
 		try {
+			if (state != State.END)
+				throw new JsonGenerationException("Wrong state: " + state);
+			flushBuffer();
 			writer.close();
 		} catch (final IOException ex) {
 			throw new JsonGenerationException(ex.getMessage(), ex);
+		} finally {
+			recycler.releaseChars(buf);
+			buf = null;
+			bufp = 0;
+			state = State.CLOSED;
 		}
 	}
 
 	@Override
 	public void flush() {
+		if (state == State.CLOSED)
+			throw new JsonGenerationException("Wrong state: " + state);
 		try {
+			flushBuffer();
 			writer.flush();
 		} catch (final IOException ex) {
 			throw new JsonGenerationException(ex.getMessage(), ex);
@@ -53,19 +91,19 @@ public final class MyrJsonGenerator implements JsonGenerator {
 	@Override
 	public JsonGenerator write(final BigDecimal value) {
 		beforeValue();
-		return writeString(value.toString());
+		return writeString(value.toString()).afterValue();
 	}
 
 	@Override
 	public JsonGenerator write(final BigInteger value) {
 		beforeValue();
-		return writeString(value.toString());
+		return writeString(value.toString()).afterValue();
 	}
 
 	@Override
 	public JsonGenerator write(boolean value) {
 		beforeValue();
-		return writeString(value ? "true" : "false");
+		return writeString(value ? "true" : "false").afterValue();
 	}
 
 	@Override
@@ -73,13 +111,13 @@ public final class MyrJsonGenerator implements JsonGenerator {
 		if(!Double.isFinite(value))
 			throw new NumberFormatException();
 		beforeValue();
-		return writeString(Double.toString(value));
+		return writeString(Double.toString(value)).afterValue();
 	}
 
 	@Override
 	public JsonGenerator write(final int value) {
 		beforeValue();
-		return writeString(Integer.toString(value));
+		return writeString(Integer.toString(value)).afterValue();
 	}
 
 	@Override
@@ -110,13 +148,13 @@ public final class MyrJsonGenerator implements JsonGenerator {
 	@Override
 	public JsonGenerator write(final long value) {
 		beforeValue();
-		return writeString(Long.toString(value));
+		return writeString(Long.toString(value)).afterValue();
 	}
 
 	@Override
 	public JsonGenerator write(final String value) {
 		beforeValue();
-		return writeStringValue(value);
+		return writeStringValue(value).afterValue();
 	}
 
 	@Override
@@ -164,22 +202,14 @@ public final class MyrJsonGenerator implements JsonGenerator {
 		if (state != State.OBJECT_KEY && state != State.ARRAY_VALUE)
 			throw new JsonGenerationException("Wrong state: " + state);
 
-		final ValueType type = stack.pop();
-		switch (type) {
-			case OBJECT -> writeChar('}');
-			case ARRAY -> writeChar(']');
-			default -> throw new AssertionError();
-		}
+		writeChar(stack.pop() ? ']' : '}');
 
 		if (stack.isEmpty()) {
 			state = State.END;
+			afterValue();
 		} else {
 			comma = true;
-			switch (stack.peek()) {
-				case OBJECT -> state = State.OBJECT_KEY;
-				case ARRAY -> state = State.ARRAY_VALUE;
-				default -> throw new AssertionError();
-			}
+			state = stack.isArray() ? State.ARRAY_VALUE : State.OBJECT_KEY;
 		}
 
 		return this;
@@ -202,7 +232,7 @@ public final class MyrJsonGenerator implements JsonGenerator {
 	@Override
 	public JsonGenerator writeNull() {
 		beforeValue();
-		return writeString("null");
+		return writeString("null").afterValue();
 	}
 
 	@Override
@@ -215,11 +245,12 @@ public final class MyrJsonGenerator implements JsonGenerator {
 		if (state != State.INIT && state != State.OBJECT_VALUE && state != State.ARRAY_VALUE)
 			throw new JsonGenerationException("Wrong state: " + state);
 
+		push(true);
+
 		if (comma)
 			writeChar(',');
 		comma = false;
 
-		stack.push(ValueType.ARRAY);
 		state = State.ARRAY_VALUE;
 		writeChar('[');
 		return this;
@@ -235,11 +266,12 @@ public final class MyrJsonGenerator implements JsonGenerator {
 		if (state != State.INIT && state != State.OBJECT_VALUE && state != State.ARRAY_VALUE)
 			throw new JsonGenerationException("Wrong state: " + state);
 
+		push(false);
+
 		if (comma)
 			writeChar(',');
 		comma = false;
 
-		stack.push(ValueType.OBJECT);
 		state = State.OBJECT_KEY;
 		writeChar('{');
 		return this;
@@ -250,6 +282,17 @@ public final class MyrJsonGenerator implements JsonGenerator {
 		return writeKey(name).writeStartObject();
 	}
 
+	private MyrJsonGenerator afterValue() {
+		if (state == State.END) {
+			try {
+				flushBuffer();
+			} catch (final IOException ex) {
+				throw new JsonGenerationException(ex.getMessage(), ex);
+			}
+		}
+		return this;
+	}
+
 	private void beforeValue() {
 		state = switch (state) {
 			case INIT -> State.END;
@@ -263,9 +306,23 @@ public final class MyrJsonGenerator implements JsonGenerator {
 		comma = true;
 	}
 
+	private void flushBuffer() throws IOException {
+		if (bufp > 0)
+			writer.write(buf, 0, bufp);
+		bufp = 0;
+	}
+
+	private void push(final boolean array) {
+		if (stack.isFull())
+			throw new JsonGenerationException("Maximum nesting depth " + stack.maxDepth() + " exceeded");
+		stack.push(array);
+	}
+
 	private MyrJsonGenerator writeChar(final char ch) {
 		try {
-			writer.write(ch);
+			if (bufp == buf.length)
+				flushBuffer();
+			buf[bufp++] = ch;
 			return this;
 		} catch (final IOException ex) {
 			throw new JsonGenerationException(ex.getMessage(), ex);
@@ -274,7 +331,15 @@ public final class MyrJsonGenerator implements JsonGenerator {
 
 	private MyrJsonGenerator writeString(final String str) {
 		try {
-			writer.write(str);
+			int off = 0;
+			while (off < str.length()) {
+				if (bufp == buf.length)
+					flushBuffer();
+				final int len = Math.min(str.length() - off, buf.length - bufp);
+				str.getChars(off, off + len, buf, bufp);
+				bufp += len;
+				off += len;
+			}
 			return this;
 		} catch (final IOException ex) {
 			throw new JsonGenerationException(ex.getMessage(), ex);
@@ -307,6 +372,6 @@ public final class MyrJsonGenerator implements JsonGenerator {
 	}
 
 	private enum State {
-		INIT, OBJECT_KEY, OBJECT_VALUE, ARRAY_VALUE, END
+		INIT, OBJECT_KEY, OBJECT_VALUE, ARRAY_VALUE, END, CLOSED
 	}
 }
@@ -0,0 +1,133 @@
+package se.narstrom.myr.json.io;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.json.stream.JsonParser;
+import se.narstrom.myr.json.parser.MyrJsonKeyMatcher;
+import se.narstrom.myr.json.parser.MyrJsonTextParser;
+import se.narstrom.myr.json.patch.MyrJsonPointer;
+
+public final class MyrJsonProjection {
+	private static final String WILDCARD = "*";
+
+	public static final MyrJsonProjection ALL = new MyrJsonProjection(true).compile();
+
+	private final Map<String, MyrJsonProjection> children = new LinkedHashMap<>();
+
+	private boolean keepOthers;
+
+	private boolean excluded = false;
+
+	private MyrJsonProjection wildcard = null;
+
+	private MyrJsonKeyMatcher matcher;
+
+	private MyrJsonProjection[] matched;
+
+	private MyrJsonProjection(final boolean keepOthers) {
+		this.keepOthers = keepOthers;
+	}
+
+	public static MyrJsonProjection of(final Collection<String> include, final Collection<String> exclude) {
+		if (include.isEmpty() && exclude.isEmpty())
+			return ALL;
+
+		final MyrJsonProjection root = new MyrJsonProjection(include.isEmpty());
+		for (final String pointer : include)
+			root.include(MyrJsonPointer.parse(pointer), 0);
+		for (final String pointer : exclude)
+			root.exclude(MyrJsonPointer.parse(pointer), 0);
+		return root.compile();
+	}
+
+	public MyrJsonProjection element(final int index) {
+		if (this == ALL)
+			return ALL;
+		return select(children.isEmpty() ? null : children.get(Integer.toString(index)));
+	}
+
+	public MyrJsonProjection member(final JsonParser parser) {
+		if (this == ALL)
+			return ALL;
+		final int index = parser instanceof MyrJsonTextParser textParser ? textParser.getKeyIndex(matcher) : matcher.match(parser.getString());
+		return select(index != -1 ? matched[index] : null);
+	}
+
+	private MyrJsonProjection child(final String token, final boolean keep) {
+		if (WILDCARD.equals(token)) {
+			if (wildcard == null)
+				wildcard = new MyrJsonProjection(keep);
+			return wildcard;
+		}
+		return children.computeIfAbsent(token, name -> new MyrJsonProjection(keep));
+	}
+
+	private MyrJsonProjection compile() {
+		if (wildcard != null) {
+			for (final MyrJsonProjection child : children.values())
+				child.merge(wildcard);
+		}
+		matcher = new MyrJsonKeyMatcher(children.keySet().toArray(String[]::new));
+		matched = children.values().toArray(MyrJsonProjection[]::new);
+		for (final MyrJsonProjection child : matched)
+			child.compile();
+		if (wildcard != null)
+			wildcard.compile();
+		return this;
+	}
+
+	private void exclude(final List<String> path, final int pathIndex) {
+		if (pathIndex == path.size()) {
+			excluded = true;
+			return;
+		}
+
+		final String token = path.get(pathIndex);
+		final MyrJsonProjection existing = WILDCARD.equals(token) ? wildcard : children.get(token);
+		if (existing == null && !keepOthers)
+			return;
+		(existing != null ? existing : child(token, true)).exclude(path, pathIndex + 1);
+	}
+
+	private void include(final List<String> path, final int pathIndex) {
+		if (keepOthers)
+			return;
+
+		if (pathIndex == path.size()) {
+			keepOthers = true;
+			children.clear();
+			wildcard = null;
+			return;
+		}
+
+		child(path.get(pathIndex), false).include(path, pathIndex + 1);
+	}
+
+	private void merge(final MyrJsonProjection other) {
+		excluded |= other.excluded;
+		if (other.keepOthers && !keepOthers)
+			widen();
+		for (final Map.Entry<String, MyrJsonProjection> entry : other.children.entrySet())
+			child(entry.getKey(), keepOthers).merge(entry.getValue());
+		if (other.wildcard != null)
+			child(WILDCARD, keepOthers).merge(other.wildcard);
+	}
+
+	private MyrJsonProjection select(final MyrJsonProjection child) {
+		final MyrJsonProjection selected = child != null ? child : wildcard;
+		if (selected == null)
+			return keepOthers ? ALL : null;
+		return selected.excluded ? null : selected;
+	}
+
+	private void widen() {
+		keepOthers = true;
+		for (final MyrJsonProjection child : children.values())
+			child.widen();
+		if (wildcard != null)
+			wildcard.widen();
+	}
+}
@@ -1,33 +1,35 @@
 package se.narstrom.myr.json.io;
 
-import java.util.logging.Logger;
-
 import jakarta.json.JsonArray;
-import jakarta.json.JsonArrayBuilder;
 import jakarta.json.JsonException;
 import jakarta.json.JsonObject;
-import jakarta.json.JsonObjectBuilder;
 import jakarta.json.JsonReader;
 import jakarta.json.JsonStructure;
 import jakarta.json.JsonValue;
 import jakarta.json.stream.JsonParser;
 import jakarta.json.stream.JsonParsingException;
 import se.narstrom.myr.json.MyrJsonContext;
-import se.narstrom.myr.json.value.MyrJsonNumber;
-import se.narstrom.myr.json.value.MyrJsonString;
+import se.narstrom.myr.json.parser.MyrJsonParserBase;
+import se.narstrom.myr.json.parser.MyrJsonTextParser;
+import se.narstrom.myr.json.value.MyrJsonTape;
+import se.narstrom.myr.json.value.MyrJsonTreeBuilder;
 
 public final class MyrJsonReader implements JsonReader {
-	private static final Logger LOG = Logger.getLogger(MyrJsonReader.class.getName());
-
 	private final MyrJsonContext context;
 
 	private final JsonParser parser;
 
+	private final MyrJsonProjection projection;
+
+	private final MyrJsonTreeBuilder tree;
+
 	private boolean closed = false;
 
 	public MyrJsonReader(final JsonParser parser, final MyrJsonContext context) {
 		this.parser = parser;
 		this.context = context;
+		this.projection = context.getProjection();
+		this.tree = new MyrJsonTreeBuilder(context);
 	}
 
 	@Override
@@ -43,10 +45,16 @@ public final class MyrJsonReader implements JsonReader {
 		if (closed || !parser.hasNext())
 			throw new IllegalStateException();
 
+		if (isTreeParser()) {
+			if (!(readTree() instanceof JsonStructure structure))
+				throw new JsonException("Not a structure");
+			return structure;
+		}
+
 		final JsonParser.Event event = parser.next();
 		return switch (event) {
-			case START_ARRAY -> onStartArray();
-			case START_OBJECT -> onStartObject();
+			case START_ARRAY -> onStartTopLevelArray();
+			case START_OBJECT -> onStartObject(projection);
 			default -> throw new JsonException("Not a structure");
 		};
 	}
@@ -56,11 +64,17 @@ public final class MyrJsonReader implements JsonReader {
 		if (closed || !parser.hasNext())
 			throw new IllegalStateException();
 
+		if (isTreeParser()) {
+			if (!(readTree() instanceof JsonArray array))
+				throw new JsonException("Not an array");
+			return array;
+		}
+
 		final JsonParser.Event event = parser.next();
 		if (event != JsonParser.Event.START_ARRAY)
 			throw new JsonException("Not an array");
 
-		return onStartArray();
+		return onStartTopLevelArray();
 	}
 
 	@Override
@@ -68,59 +82,107 @@ public final class MyrJsonReader implements JsonReader {
 		if (closed || !parser.hasNext())
 			throw new IllegalStateException();
 
+		if (isTreeParser()) {
+			if (!(readTree() instanceof JsonObject object))
+				throw new JsonException("Not an object");
+			return object;
+		}
+
 		final JsonParser.Event event = parser.next();
 		if (event != JsonParser.Event.START_OBJECT)
 			throw new JsonException("Not an object");
 
-		return onStartObject();
+		return onStartObject(projection);
+	}
+
+	public MyrJsonTape readTape() {
+		if (closed || !parser.hasNext())
+			throw new IllegalStateException();
+
+		final JsonParser.Event event = parser.next();
+		if (projection != MyrJsonProjection.ALL)
+			return MyrJsonTape.of(readValue(event, projection), context);
+		return ((MyrJsonParserBase) parser).getTape();
 	}
 
 	@Override
 	public JsonValue readValue() {
 		if (closed || !parser.hasNext())
 			throw new IllegalStateException();
-		return readValue(parser.next());
+		if (isTreeParser())
+			return readTree();
+		return readValue(parser.next(), projection);
+	}
+
+	private boolean isTreeParser() {
+		return parser instanceof MyrJsonTextParser && parser.currentEvent() == null && projection == MyrJsonProjection.ALL && !context.isParallelArrays();
 	}
 
-	private JsonArray onStartArray() {
-		final JsonArrayBuilder builder = context.defaultBuilderFactory().createArrayBuilder();
+	private JsonArray onStartArray(final MyrJsonProjection projection) {
+		final int mark = tree.mark();
 
+		int index = 0;
 		for (JsonParser.Event event = parser.next(); event != JsonParser.Event.END_ARRAY; event = parser.next()) {
-			builder.add(readValue(event));
+			final MyrJsonProjection element = projection.element(index++);
+			if (element == null)
+				skipValue(event);
+			else
+				tree.add(readValue(event, element));
 		}
 
-		return builder.build();
+		return tree.buildArray(mark);
+	}
+
+	private JsonArray onStartTopLevelArray() {
+		if (!context.isParallelArrays() || projection != MyrJsonProjection.ALL)
+			return onStartArray(projection);
+
+		final int mark = tree.mark();
+		parser.getArrayStream().parallel().forEachOrdered(tree::add);
+		return tree.buildArray(mark);
 	}
 
-	private JsonObject onStartObject() {
-		final JsonObjectBuilder builder = context.defaultBuilderFactory().createObjectBuilder();
+	private JsonObject onStartObject(final MyrJsonProjection projection) {
+		final int mark = tree.mark();
 
 		for (JsonParser.Event event = parser.next(); event != JsonParser.Event.END_OBJECT; event = parser.next()) {
 			if (event != JsonParser.Event.KEY_NAME)
 				throw new JsonParsingException("No key", parser.getLocation());
 
-			final String key = parser.getString();
-			LOG.info(() -> String.format("Key %s", key));
-
-			final JsonValue value = readValue();
-			LOG.info(() -> String.format("Value %s", value));
+			final MyrJsonProjection member = projection.member(parser);
+			if (member == null) {
+				skipValue(parser.next());
+				continue;
+			}
 
-			builder.add(key, value);
+			final String key = parser.getString();
+			tree.add(key, readValue(parser.next(), member));
 		}
 
-		return builder.build();
+		return tree.buildObject(mark);
 	}
 
-	private JsonValue readValue(final JsonParser.Event event) {
+	private JsonValue readValue(final JsonParser.Event event, final MyrJsonProjection projection) {
 		return switch (event) {
-			case START_OBJECT -> onStartObject();
-			case START_ARRAY -> onStartArray();
-			case VALUE_STRING -> new MyrJsonString(parser.getString());
-			case VALUE_NUMBER -> new MyrJsonNumber(parser.getBigDecimal());
-			case VALUE_TRUE -> JsonValue.TRUE;
-			case VALUE_FALSE -> JsonValue.FALSE;
-			case VALUE_NULL -> JsonValue.NULL;
+			case START_OBJECT -> onStartObject(projection);
+			case START_ARRAY -> onStartArray(projection);
+			case VALUE_STRING, VALUE_NUMBER, VALUE_TRUE, VALUE_FALSE, VALUE_NULL -> parser.getValue();
 			default -> throw new JsonParsingException("Not a value, event: " + event, parser.getLocation());
 		};
 	}
+
+	private JsonValue readTree() {
+		return ((MyrJsonTextParser) parser).readTree();
+	}
+
+	private void skipValue(final JsonParser.Event event) {
+		switch (event) {
+			case START_OBJECT -> parser.skipObject();
+			case START_ARRAY -> parser.skipArray();
+			case VALUE_STRING, VALUE_NUMBER, VALUE_TRUE, VALUE_FALSE, VALUE_NULL -> {
+				/* Nothing */
+			}
+			default -> throw new JsonParsingException("Not a value, event: " + event, parser.getLocation());
+		}
+	}
 }
@@ -0,0 +1,170 @@
+package se.narstrom.myr.json.parser;
+
+import java.math.BigInteger;
+
+final class MyrJsonDoubleConversion {
+	private static final int MIN_POWER = -342;
+
+	private static final int MAX_POWER = 308;
+
+	private static final double[] POWERS_OF_TEN = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	private MyrJsonDoubleConversion() {
+	}
+
+	static double parseDouble(final char[] chars, final int length) {
+		int i = 0;
+		final boolean negative = chars[0] == '-';
+		if (negative)
+			++i;
+
+		long significand = 0;
+		int digits = 0;
+		long exponent = 0;
+		boolean truncated = false;
+
+		for (; i < length && chars[i] >= '0' && chars[i] <= '9'; ++i) {
+			final int digit = chars[i] - '0';
+			if (digits < 19) {
+				significand = significand * 10 + digit;
+				if (significand != 0)
+					++digits;
+			} else {
+				++exponent;
+				truncated |= digit != 0;
+			}
+		}
+
+		if (i < length && chars[i] == '.') {
+			for (++i; i < length && chars[i] >= '0' && chars[i] <= '9'; ++i) {
+				final int digit = chars[i] - '0';
+				if (digits < 19) {
+					significand = significand * 10 + digit;
+					if (significand != 0)
+						++digits;
+					--exponent;
+				} else {
+					truncated |= digit != 0;
+				}
+			}
+		}
+
+		if (i < length && (chars[i] == 'e' || chars[i] == 'E')) {
+			++i;
+			boolean negativeExponent = false;
+			if (chars[i] == '+' || chars[i] == '-')
+				negativeExponent = chars[i++] == '-';
+
+			long exp = 0;
+			for (; i < length; ++i) {
+				if (exp < 100_000)
+					exp = exp * 10 + (chars[i] - '0');
+			}
+			exponent += negativeExponent ? -exp : exp;
+		}
+
+		if (significand == 0)
+			return negative ? -0.0 : 0.0;
+
+		if (exponent >= MIN_POWER && exponent <= MAX_POWER) {
+			final int power = (int) exponent;
+			final double value = eiselLemire(negative, significand, power);
+			if (!Double.isNaN(value)) {
+				if (!truncated || value == eiselLemire(negative, significand + 1, power))
+					return value;
+			}
+		}
+
+		return Double.parseDouble(new String(chars, 0, length));
+	}
+
+	private static double eiselLemire(final boolean negative, final long significand, final int power) {
+		if (-22 <= power && power <= 22 && Long.compareUnsigned(significand, 1L << 53) <= 0) {
+			double value = significand;
+			if (power < 0)
+				value /= POWERS_OF_TEN[-power];
+			else
+				value *= POWERS_OF_TEN[power];
+			return negative ? -value : value;
+		}
+
+		final long factorHigh = Powers.TABLE[2 * (power - MIN_POWER)];
+		final long exponent = (((152170L + 65536L) * power) >> 16) + 1024 + 63;
+		int lz = Long.numberOfLeadingZeros(significand);
+		final long shifted = significand << lz;
+
+		long lower = shifted * factorHigh;
+		long upper = Math.unsignedMultiplyHigh(shifted, factorHigh);
+
+		if ((upper & 0x1FF) == 0x1FF && Long.compareUnsigned(lower + shifted, lower) < 0) {
+			final long factorLow = Powers.TABLE[2 * (power - MIN_POWER) + 1];
+			final long productLow = shifted * factorLow;
+			final long productMiddle2 = Math.unsignedMultiplyHigh(shifted, factorLow);
+			final long productMiddle1 = lower;
+			long productHigh = upper;
+			final long productMiddle = productMiddle1 + productMiddle2;
+			if (Long.compareUnsigned(productMiddle, productMiddle1) < 0)
+				++productHigh;
+			if (productMiddle + 1 == 0 && (productHigh & 0x1FF) == 0x1FF && Long.compareUnsigned(productLow + shifted, productLow) < 0)
+				return Double.NaN;
+			upper = productHigh;
+			lower = productMiddle;
+		}
+
+		final long upperBit = upper >>> 63;
+		long mantissa = upper >>> (upperBit + 9);
+		lz += (int) (1 ^ upperBit);
+
+		if (lower == 0 && (upper & 0x1FF) == 0 && (mantissa & 3) == 1)
+			return Double.NaN;
+
+		mantissa += mantissa & 1;
+		mantissa >>>= 1;
+		if (mantissa >= (1L << 53)) {
+			mantissa = 1L << 52;
+			--lz;
+		}
+		mantissa &= ~(1L << 52);
+
+		final long realExponent = exponent - lz;
+		if (realExponent < 1 || realExponent > 2046)
+			return Double.NaN;
+
+		final long bits = mantissa | (realExponent << 52) | (negative ? 1L << 63 : 0L);
+		return Double.longBitsToDouble(bits);
+	}
+
+	private static final class Powers {
+		static final long[] TABLE = createTable();
+
+		private static long[] createTable() {
+			final long[] table = new long[2 * (MAX_POWER - MIN_POWER + 1)];
+			final BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+			final BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+			for (int q = MIN_POWER; q <= MAX_POWER; ++q) {
+				BigInteger value;
+				if (q < 0) {
+					final BigInteger power5 = BigInteger.valueOf(5).pow(-q);
+					final int z = power5.subtract(BigInteger.ONE).bitLength();
+					final int b = q >= -27 ? z + 127 : 2 * z + 128;
+					value = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+					while (value.compareTo(two128) >= 0)
+						value = value.shiftRight(1);
+				} else {
+					value = BigInteger.valueOf(5).pow(q);
+					final int bits = value.bitLength();
+					value = bits <= 128 ? value.shiftLeft(128 - bits) : value.shiftRight(bits - 128);
+				}
+
+				final int index = 2 * (q - MIN_POWER);
+				table[index] = value.shiftRight(64).longValue();
+				table[index + 1] = value.and(mask).longValue();
+			}
+			return table;
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package se.narstrom.myr.json.parser;
+
+public final class MyrJsonKeyMatcher {
+	private final String[] names;
+
+	private final String[] keys;
+
+	private final int[] hashes;
+
+	private final int[] indices;
+
+	private final int mask;
+
+	public MyrJsonKeyMatcher(final String... names) {
+		final int capacity = Integer.highestOneBit(Math.max(names.length, 1) * 4 - 1);
+		this.names = names.clone();
+		this.keys = new String[capacity];
+		this.hashes = new int[capacity];
+		this.indices = new int[capacity];
+		this.mask = capacity - 1;
+
+		for (int i = 0; i < names.length; ++i) {
+			final String name = names[i];
+			final int hash = name.hashCode();
+			int slot = spread(hash) & mask;
+			while (keys[slot] != null) {
+				if (keys[slot].equals(name))
+					throw new IllegalArgumentException("Duplicate key " + name);
+				slot = (slot + 1) & mask;
+			}
+			keys[slot] = name;
+			hashes[slot] = hash;
+			indices[slot] = i;
+		}
+	}
+
+	public int match(final CharSequence key) {
+		final int len = key.length();
+		int hash = 0;
+		for (int i = 0; i < len; ++i)
+			hash = 31 * hash + key.charAt(i);
+
+		for (int slot = spread(hash) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+			if (hashes[slot] == hash && matches(keys[slot], key))
+				return indices[slot];
+		}
+		return -1;
+	}
+
+	public String name(final int index) {
+		return names[index];
+	}
+
+	public int size() {
+		return names.length;
+	}
+
+	private static boolean matches(final String name, final CharSequence key) {
+		final int len = name.length();
+		if (key.length() != len)
+			return false;
+		for (int i = 0; i < len; ++i) {
+			if (name.charAt(i) != key.charAt(i))
+				return false;
+		}
+		return true;
+	}
+
+	private static int spread(final int hash) {
+		return hash ^ (hash >>> 16);
+	}
+}
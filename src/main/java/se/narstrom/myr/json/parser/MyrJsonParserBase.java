@@ -10,18 +10,22 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import jakarta.json.JsonArray;
-import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonNumber;
 import jakarta.json.JsonObject;
-import jakarta.json.JsonObjectBuilder;
 import jakarta.json.JsonValue;
 import jakarta.json.stream.JsonParser;
 import se.narstrom.myr.json.MyrJsonContext;
 import se.narstrom.myr.json.value.MyrJsonNumber;
 import se.narstrom.myr.json.value.MyrJsonString;
+import se.narstrom.myr.json.value.MyrJsonTape;
+import se.narstrom.myr.json.value.MyrJsonTapeBuilder;
+import se.narstrom.myr.json.value.MyrJsonTreeBuilder;
 
 public abstract class MyrJsonParserBase implements JsonParser {
 	protected final MyrJsonContext context;
 
+	private MyrJsonTreeBuilder tree = null;
+
 	protected MyrJsonParserBase(final MyrJsonContext context) {
 		this.context = context;
 	}
@@ -31,12 +35,12 @@ public abstract class MyrJsonParserBase implements JsonParser {
 		if (currentEvent() != Event.START_ARRAY)
 			throw new IllegalStateException();
 
-		final JsonArrayBuilder builder = context.defaultBuilderFactory().createArrayBuilder();
-
+		final MyrJsonTreeBuilder tree = tree();
+		final int mark = tree.mark();
 		while (next() != Event.END_ARRAY) {
-			builder.add(getValue());
+			tree.add(getValue());
 		}
-		return builder.build();
+		return tree.buildArray(mark);
 	}
 
 	@Override
@@ -49,6 +53,14 @@ public abstract class MyrJsonParserBase implements JsonParser {
 				.stream(Spliterators.spliteratorUnknownSize(iter, Spliterator.ORDERED | Spliterator.NONNULL), false);
 	}
 
+	public CharSequence getCharSequence() {
+		return getString();
+	}
+
+	public double getDouble() {
+		return getBigDecimal().doubleValue();
+	}
+
 	@Override
 	public int getInt() {
 		return getBigDecimal().intValue();
@@ -64,18 +76,16 @@ public abstract class MyrJsonParserBase implements JsonParser {
 		if (currentEvent() != Event.START_OBJECT)
 			throw new IllegalStateException();
 
-		final JsonObjectBuilder builder = context.defaultBuilderFactory().createObjectBuilder();
-
+		final MyrJsonTreeBuilder tree = tree();
+		final int mark = tree.mark();
 		while (next() != Event.END_OBJECT) {
 			assert currentEvent() == Event.KEY_NAME;
 			final String name = getString();
 			next();
 
-			final JsonValue value = getValue();
-			builder.add(name, value);
+			tree.add(name, getValue());
 		}
-
-		return builder.build();
+		return tree.buildObject(mark);
 	}
 
 	@Override
@@ -88,13 +98,50 @@ public abstract class MyrJsonParserBase implements JsonParser {
 				.stream(Spliterators.spliteratorUnknownSize(iter, Spliterator.ORDERED | Spliterator.NONNULL), false);
 	}
 
+	public MyrJsonTape getTape() {
+		final MyrJsonTapeBuilder tape = new MyrJsonTapeBuilder(context);
+		int depth = 0;
+		while (true) {
+			switch (currentEvent()) {
+				case START_ARRAY -> {
+					tape.startArray();
+					++depth;
+				}
+				case START_OBJECT -> {
+					tape.startObject();
+					++depth;
+				}
+				case END_ARRAY, END_OBJECT -> {
+					if (depth == 0)
+						throw new IllegalStateException();
+					tape.end();
+					--depth;
+				}
+				case KEY_NAME -> {
+					if (depth == 0)
+						throw new IllegalStateException();
+					tape.addString(getCharSequence());
+				}
+				case VALUE_STRING -> tape.addString(getCharSequence());
+				case VALUE_NUMBER -> addNumber(tape);
+				case VALUE_TRUE -> tape.addLiteral(JsonValue.TRUE);
+				case VALUE_FALSE -> tape.addLiteral(JsonValue.FALSE);
+				case VALUE_NULL -> tape.addLiteral(JsonValue.NULL);
+				case null -> throw new IllegalStateException();
+			}
+			if (depth == 0)
+				return tape.build();
+			next();
+		}
+	}
+
 	@Override
 	public JsonValue getValue() {
 		return switch (currentEvent()) {
 			case START_ARRAY -> getArray();
 			case START_OBJECT -> getObject();
 			case VALUE_STRING, KEY_NAME -> new MyrJsonString(getString());
-			case VALUE_NUMBER -> new MyrJsonNumber(getBigDecimal());
+			case VALUE_NUMBER -> getJsonNumber();
 			case VALUE_TRUE -> JsonValue.TRUE;
 			case VALUE_FALSE -> JsonValue.FALSE;
 			case VALUE_NULL -> JsonValue.NULL;
@@ -154,10 +201,29 @@ public abstract class MyrJsonParserBase implements JsonParser {
 		}
 	}
 
+	protected void addNumber(final MyrJsonTapeBuilder tape) {
+		tape.addNumber(getJsonNumber());
+	}
+
+	protected JsonNumber getJsonNumber() {
+		return new MyrJsonNumber(getBigDecimal());
+	}
+
+	protected final void clearTree() {
+		if (tree != null)
+			tree.truncate(0);
+	}
+
 	protected abstract boolean isInArray();
 
 	protected abstract boolean isInObject();
 
+	protected final MyrJsonTreeBuilder tree() {
+		if (tree == null)
+			tree = new MyrJsonTreeBuilder(context);
+		return tree;
+	}
+
 	private class ArrayIterator implements Iterator<JsonValue> {
 		public ArrayIterator() {
 			MyrJsonParserBase.this.next();
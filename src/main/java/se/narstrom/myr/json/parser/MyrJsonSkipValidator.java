@@ -0,0 +1,110 @@
+package se.narstrom.myr.json.parser;
+
+import java.util.Arrays;
+
+final class MyrJsonSkipValidator {
+	private static final int VALUE = 0;
+
+	private static final int VALUE_OR_CLOSE = 1;
+
+	private static final int KEY = 2;
+
+	private static final int KEY_OR_CLOSE = 3;
+
+	private static final int COLON = 4;
+
+	private static final int AFTER_VALUE = 5;
+
+	private long[] arrays = new long[1];
+
+	private int depth = 0;
+
+	private int expect = VALUE;
+
+	private boolean scalar = false;
+
+	public boolean accept(final char ch) {
+		switch (ch) {
+			case ' ', '\n', '\r', '\t' -> {
+				scalar = false;
+				return true;
+			}
+			case '{', '[' -> {
+				scalar = false;
+				if (expect != VALUE && expect != VALUE_OR_CLOSE)
+					return false;
+				push(ch == '[');
+				return true;
+			}
+			case '}', ']' -> {
+				scalar = false;
+				final boolean array = ch == ']';
+				if (depth == 0 || isArray() != array)
+					return false;
+				if (expect != AFTER_VALUE && expect != (array ? VALUE_OR_CLOSE : KEY_OR_CLOSE))
+					return false;
+				--depth;
+				expect = AFTER_VALUE;
+				return true;
+			}
+			case ',' -> {
+				scalar = false;
+				if (depth == 0 || expect != AFTER_VALUE)
+					return false;
+				expect = isArray() ? VALUE : KEY;
+				return true;
+			}
+			case ':' -> {
+				scalar = false;
+				if (expect != COLON)
+					return false;
+				expect = VALUE;
+				return true;
+			}
+			case '"' -> {
+				scalar = false;
+				if (expect == KEY || expect == KEY_OR_CLOSE)
+					expect = COLON;
+				else if (expect == VALUE || expect == VALUE_OR_CLOSE)
+					expect = AFTER_VALUE;
+				else
+					return false;
+				return true;
+			}
+			default -> {
+				if (scalar)
+					return true;
+				if (expect != VALUE && expect != VALUE_OR_CLOSE)
+					return false;
+				scalar = true;
+				expect = AFTER_VALUE;
+				return true;
+			}
+		}
+	}
+
+	public MyrJsonSkipValidator reset(final boolean array, final boolean first) {
+		depth = 0;
+		scalar = false;
+		push(array);
+		if (!first)
+			expect = array ? VALUE : KEY;
+		return this;
+	}
+
+	private boolean isArray() {
+		final int top = depth - 1;
+		return (arrays[top >>> 6] & (1L << top)) != 0;
+	}
+
+	private void push(final boolean array) {
+		if (depth >>> 6 == arrays.length)
+			arrays = Arrays.copyOf(arrays, arrays.length * 2);
+		if (array)
+			arrays[depth >>> 6] |= 1L << depth;
+		else
+			arrays[depth >>> 6] &= ~(1L << depth);
+		++depth;
+		expect = array ? VALUE_OR_CLOSE : KEY_OR_CLOSE;
+	}
+}
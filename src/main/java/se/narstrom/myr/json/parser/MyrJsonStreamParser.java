@@ -3,351 +3,397 @@ package se.narstrom.myr.json.parser;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.Reader;
-import java.math.BigDecimal;
-import java.util.ArrayDeque;
-import java.util.Deque;
-import java.util.NoSuchElementException;
+import java.nio.CharBuffer;
 import java.util.Objects;
 
 import jakarta.json.stream.JsonLocation;
 import jakarta.json.stream.JsonParsingException;
 import se.narstrom.myr.json.MyrJsonContext;
 
-public final class MyrJsonStreamParser extends MyrJsonParserBase {
-	private final Deque<State> stack = new ArrayDeque<>();
+public final class MyrJsonStreamParser extends MyrJsonTextParser {
+	private Reader in;
 
-	private final Reader in;
+	private CharBuffer buf;
 
-	private Event event = null;
+	private boolean mutableText;
 
-	private JsonLocation location = null;
+	private char[] recycled;
 
-	private String stringValue = null;
+	private StringView view;
 
-	private BigDecimal numberValue = null;
+	private int buflen;
 
-	private State state = State.INIT;
-
-	private char[] buf = new char[4096];
+	private int bufp = 0;
 
-	private int buflen = 0;
+	private long bufferOffset = 0;
 
-	private int bufp = 0;
+	private long countedOffset = 0;
 
 	private long lineNo = 1;
 
 	private long columnNo = 1;
 
-	private long offset = 0;
+	public MyrJsonStreamParser(final CharSequence text, final MyrJsonContext context) {
+		super(context);
+		this.in = null;
+		this.buf = CharBuffer.wrap(text);
+		this.mutableText = !(text instanceof String);
+		this.buflen = buf.limit();
+	}
+
+	private MyrJsonStreamParser(final CharSequence text, final MyrJsonContext context, final long origin, final int depth, final boolean mutableText) {
+		super(context, depth);
+		this.in = null;
+		this.buf = CharBuffer.wrap(text);
+		this.mutableText = mutableText;
+		this.buflen = buf.limit();
+		this.bufferOffset = origin;
+		this.countedOffset = origin;
+		this.lineNo = -1;
+		this.columnNo = -1;
+	}
 
 	public MyrJsonStreamParser(final Reader in, final MyrJsonContext context) {
 		super(context);
 		this.in = in;
+		this.recycled = context.getBufferRecycler().acquireChars();
+		this.buf = CharBuffer.wrap(recycled);
+		this.buflen = 0;
 	}
 
-	@Override
-	public void close() {
+	public void reset(final CharSequence text) {
+		closeReader(null);
+		releaseBuffer();
+		this.in = null;
+		this.buf = CharBuffer.wrap(text);
+		this.mutableText = !(text instanceof String);
+		this.buflen = buf.limit();
+		resetPosition();
+	}
+
+	public void reset(final Reader in) {
+		closeReader(in);
+		if (recycled == null)
+			recycled = context.getBufferRecycler().acquireChars();
+		this.in = in;
+		this.buf = CharBuffer.wrap(recycled);
+		this.buflen = 0;
+		resetPosition();
+	}
+
+	private void appendEscape(final StringBuilder sb) throws IOException {
+		final char ch = readChar();
+		switch (ch) {
+			case '\"' -> sb.append('\"');
+			case '\\' -> sb.append('\\');
+			case '/' -> sb.append('/');
+			case 'b' -> sb.append('\b');
+			case 'f' -> sb.append('\f');
+			case 'n' -> sb.append('\n');
+			case 'r' -> sb.append('\r');
+			case 't' -> sb.append('\t');
+			case 'u' -> {
+				char[] chs = new char[4];
+				readChars(chs);
+				for (int i = 0; i < 4; ++i)
+					if (!isHexDigit(chs[i]))
+						throw new JsonParsingException("Invalid unicode escape sequence \"\\u" + new String(chs) + "\"", location());
+				sb.append((char) Integer.parseUnsignedInt(new String(chs), 16));
+			}
+			default -> throw new JsonParsingException("Unknown escape character " + ch, location());
+		}
+	}
+
+	private void closeReader(final Reader next) {
+		if (in == null || in == next)
+			return;
 		try {
 			in.close();
 		} catch (final IOException ex) {
-			throw new JsonParsingException(ex.getMessage(), ex, location);
+			throw new JsonParsingException(ex.getMessage(), ex, location());
 		}
 	}
 
-	@Override
-	public Event currentEvent() {
-		return event;
+	private void consumeTo(final int end) {
+		bufp = end;
 	}
 
-	@Override
-	public BigDecimal getBigDecimal() {
-		if (numberValue == null)
-			throw new IllegalStateException();
-		return numberValue;
+	private void countLines(final long end) {
+		if (lineNo == -1)
+			return;
+		final int from = (int) (countedOffset - bufferOffset);
+		final int to = (int) (end - bufferOffset);
+		int lineStart = from;
+		for (int i = from; i < to; ++i) {
+			if (buf.get(i) == '\n') {
+				++lineNo;
+				lineStart = i + 1;
+			}
+		}
+		columnNo = (lineStart != from ? 1 : columnNo) + to - lineStart;
+		countedOffset = end;
 	}
 
-	@Override
-	public JsonLocation getLocation() {
-		return location;
+	private boolean isHexDigit(final char ch) {
+		return ('0' <= ch && ch <= '9') || ('A' <= ch && ch <= 'F') || ('a' <= ch && ch <= 'f');
 	}
 
-	@Override
-	public String getString() {
-		if (stringValue == null)
-			throw new IllegalStateException();
-		return stringValue;
-	}
+	private void maybeFillBuffer() throws IOException {
+		if (bufp < buflen)
+			return;
 
-	@Override
-	public boolean hasNext() {
-		return state != State.END;
-	}
+		if (in == null) {
+			buflen = -1;
+			return;
+		}
 
-	@Override
-	public Event next() {
-		try {
-			event = null;
-			location = null;
-			stringValue = null;
-			numberValue = null;
-
-			while (event == null) {
-				switch (state) {
-					case INIT -> nextInit();
-					case OBJECT_INIT -> nextObjectInit();
-					case OBJECT_KEY -> nextObjectKey();
-					case OBJECT_VALUE -> nextObjectValue();
-					case OBJECT_COMMA -> nextObjectComma();
-					case ARRAY_INIT -> nextArrayInit();
-					case ARRAY_VALUE -> nextArrayValue();
-					case ARRAY_COMMA -> nextArrayComma();
-					case END -> throw new NoSuchElementException("End of stream");
-				}
-			}
-			return event;
-		} catch (final IOException ex) {
-			throw new JsonParsingException(ex.getMessage(), ex, location);
+		if (buflen > 0) {
+			detachString();
+			spillLines(bufferOffset + buflen);
+			bufferOffset += buflen;
 		}
-	}
 
-	private JsonLocation createLocation() {
-		return new MyrJsonLocation(lineNo, columnNo, offset);
+		buflen = in.read(buf.array());
+		bufp = 0;
 	}
 
-	private void endArray() {
-		state = stack.pop();
-		event = Event.END_ARRAY;
-	}
+	private CharSequence parseString(final MyrJsonSymbolTable symbols) throws IOException {
+		final int end = scanString();
+		if (end == -1)
+			return parseStringSlow();
 
-	private void endObject() {
-		state = stack.pop();
-		event = Event.END_OBJECT;
+		if (view == null)
+			view = new StringView();
+		view.symbols = symbols;
+		view.from = bufp;
+		view.to = end;
+		consumeTo(end + 1);
+		return view;
 	}
 
-	private void keyName() throws IOException {
-		parseString();
-		skipWhitespace();
-		if (readChar() != ':')
-			throw new JsonParsingException("Expected ':' after key", location);
-		state = State.OBJECT_VALUE;
-		event = Event.KEY_NAME;
-	}
+	private String parseStringSlow() throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		while (true) {
+			maybeFillBuffer();
+			if (buflen == -1)
+				throw new EOFException();
 
-	private void maybeFillBuffer() throws IOException {
-		if (bufp >= buflen)
-			buflen = in.read(buf);
+			int i = bufp;
+			char ch = 0;
+			while (i < buflen) {
+				ch = buf.get(i);
+				if (ch == '"' || ch == '\\')
+					break;
+				++i;
+			}
+			if (buf.hasArray())
+				sb.append(buf.array(), buf.arrayOffset() + bufp, i - bufp);
+			else
+				sb.append(buf, bufp, i);
+			consumeTo(i);
+
+			if (i == buflen)
+				continue;
+
+			consumeTo(i + 1);
+			if (ch == '"')
+				return sb.toString();
+			appendEscape(sb);
+		}
 	}
 
-	private void nextArrayComma() throws IOException {
-		skipWhitespace();
-		location = createLocation();
+	private int read() throws IOException {
+		maybeFillBuffer();
+		if (buflen == -1)
+			return -1;
 
-		final char ch = readChar();
-		switch (ch) {
-			case ']' -> endArray();
-			case ',' -> state = State.ARRAY_VALUE;
-			default -> throw new JsonParsingException("Unexpected " + ch + ", state: " + state, location);
-		}
+		return buf.get(bufp++);
 	}
 
-	private void nextArrayInit() throws IOException {
-		skipWhitespace();
-		location = createLocation();
+	private int read(final char[] cbuf, final int off, final int len) throws IOException {
+		Objects.checkFromIndexSize(off, len, cbuf.length);
+		maybeFillBuffer();
+		if (buflen == -1)
+			return -1;
 
-		if (peekChar() == ']') {
-			readChar();
-			endArray();
-			return;
-		}
+		final int realLen = Math.min(len, buflen - bufp);
+		buf.get(bufp, cbuf, off, realLen);
+		bufp += realLen;
 
-		nextValue(State.ARRAY_COMMA);
+		return realLen;
 	}
 
-	private void nextArrayValue() throws IOException {
-		nextValue(State.ARRAY_COMMA);
+	private void readChars(final char[] chs) throws IOException {
+		int read = 0;
+		while (read < chs.length) {
+			int r = read(chs, read, chs.length - read);
+			if (r == -1)
+				throw new EOFException();
+			read += r;
+		}
 	}
 
-	private void nextInit() throws IOException {
-		nextValue(State.END);
+	private void releaseBuffer() {
+		if (recycled != null)
+			context.getBufferRecycler().releaseChars(recycled);
+		recycled = null;
 	}
 
-	private void nextObjectComma() throws IOException {
-		skipWhitespace();
-		location = createLocation();
-
-		final char ch = readChar();
-		switch (ch) {
-			case '}' -> endObject();
-			case ',' -> state = State.OBJECT_KEY;
-			default -> throw new JsonParsingException("Unexpected " + ch + ", state: " + state, location);
-		}
+	private void resetPosition() {
+		bufp = 0;
+		bufferOffset = 0;
+		countedOffset = 0;
+		lineNo = 1;
+		columnNo = 1;
+		resetState();
 	}
 
-	private void nextObjectInit() throws IOException {
-		skipWhitespace();
-		location = createLocation();
+	private int scanString() throws IOException {
+		maybeFillBuffer();
+		if (buflen == -1)
+			throw new EOFException();
 
-		final char ch = readChar();
-		switch (ch) {
-			case '}' -> endObject();
-			case '\"' -> keyName();
-			default -> throw new JsonParsingException("Unexpected " + ch + ", state: " + state, location);
+		for (int i = bufp; i < buflen; ++i) {
+			final char ch = buf.get(i);
+			if (ch == '"')
+				return i;
+			if (ch == '\\')
+				return -1;
 		}
+		return -1;
 	}
 
-	private void nextObjectKey() throws IOException {
-		skipWhitespace();
-		location = createLocation();
-
-		final char ch = readChar();
-		if (ch != '\"')
-			throw new JsonParsingException("Unexpected " + ch + ", sate: " + state, location);
-		keyName();
+	private void spillLines(final long end) {
+		location();
+		countLines(end);
 	}
 
-	private void nextObjectValue() throws IOException {
-		nextValue(State.OBJECT_COMMA);
+	private String substring(final int from, final int to) {
+		if (buf.hasArray())
+			return new String(buf.array(), buf.arrayOffset() + from, to - from);
+		return buf.subSequence(from, to).toString();
 	}
 
-	private void nextValue(final State nextState) throws IOException {
-		skipWhitespace();
-		location = createLocation();
-
-		final char ch = readChar();
-		switch (ch) {
-			case '{' -> startObject(nextState);
-			case '[' -> startArray(nextState);
-			case '\"' -> valueString(nextState);
-			case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> valueNumber(nextState, ch);
-			default -> valueKeyword(nextState, ch);
+	@Override
+	protected void closeInput() throws IOException {
+		try {
+			if (in != null)
+				in.close();
+		} finally {
+			releaseBuffer();
 		}
 	}
 
-	private void parseString() throws IOException {
-		final StringBuilder sb = new StringBuilder();
-		char ch;
-		while ((ch = readChar()) != '"') {
-			if (ch == '\\') {
-				ch = readChar();
-				switch (ch) {
-					case '\"' -> sb.append('\"');
-					case '\\' -> sb.append('\\');
-					case '/' -> sb.append('/');
-					case 'b' -> sb.append('\b');
-					case 'f' -> sb.append('\f');
-					case 'n' -> sb.append('\n');
-					case 'r' -> sb.append('\r');
-					case 't' -> sb.append('\t');
-					case 'u' -> {
-						char[] chs = new char[4];
-						readChars(chs);
-						for (int i = 0; i < 4; ++i)
-							if (!isHexDigit(chs[i]))
-								throw new JsonParsingException("Invalid unicode escape sequence \"\\u" + new String(chs) + "\"", location);
-						sb.append((char) Integer.parseUnsignedInt(new String(chs), 16));
-					}
-					default -> throw new JsonParsingException("Unknown escape character " + ch, location);
-				}
-			} else {
-				sb.append(ch);
-			}
-		}
-		stringValue = sb.toString();
+	@Override
+	protected MyrJsonTextParser createSlice(final long from, final long to, final int depth) {
+		return new MyrJsonStreamParser(buf.subSequence((int) (from - bufferOffset), (int) (to - bufferOffset)), context, from, depth, mutableText);
 	}
 
-	private boolean isHexDigit(final char ch) {
-		return ('0' <= ch && ch <= '9') || ('A' <= ch && ch <= 'F') || ('a' <= ch && ch <= 'f');
+	@Override
+	protected JsonLocation createLocation(final long offset) {
+		countLines(offset);
+		return new MyrJsonLocation(lineNo, columnNo, offset);
 	}
 
-	private int peekChar() throws IOException {
-		maybeFillBuffer();
-		if (buflen == -1)
-			return -1;
-		return buf[bufp];
+	@Override
+	protected CharSequence parseKey() throws IOException {
+		return parseString(context.getSymbolTable());
 	}
 
-	private int read() throws IOException {
-		maybeFillBuffer();
-		if (buflen == -1)
-			return -1;
-
-		final char ch = buf[bufp++];
-		if (ch == '\n') {
-			++lineNo;
-			columnNo = 1;
-		} else {
-			++columnNo;
-		}
-		++offset;
+	@Override
+	protected CharSequence parseString() throws IOException {
+		return parseString(null);
+	}
 
-		return ch;
+	@Override
+	protected boolean isSplittable() {
+		return in == null;
 	}
 
-	private int read(final char[] cbuf, final int off, final int len) throws IOException {
-		Objects.checkFromIndexSize(off, len, cbuf.length);
+	@Override
+	protected int peekChar() throws IOException {
 		maybeFillBuffer();
 		if (buflen == -1)
 			return -1;
+		return buf.get(bufp);
+	}
 
-		final int realLen = Math.min(len, buflen - bufp);
-		System.arraycopy(buf, bufp, cbuf, off, realLen);
-
-		for (int i = bufp; i < bufp + realLen; ++i) {
-			if (buf[i] == '\n') {
-				++lineNo;
-				columnNo = 1;
-			} else {
-				++columnNo;
-			}
-		}
-		bufp += realLen;
-		offset += realLen;
-
-		return realLen;
+	@Override
+	protected long position() {
+		return bufferOffset + bufp;
 	}
 
-	private char readChar() throws IOException {
+	@Override
+	protected char readChar() throws IOException {
 		int ch = read();
 		if (ch == -1)
 			throw new EOFException();
 		return (char) ch;
 	}
 
-	private void readChars(final char[] chs) throws IOException {
-		int read = 0;
-		while (read < chs.length) {
-			int r = read(chs, read, chs.length - read);
-			if (r == -1)
-				throw new EOFException();
-			read += r;
+	@Override
+	protected void seek(final long limit, final char delimiter) throws IOException {
+		while (true) {
+			maybeFillBuffer();
+			if (buflen == -1)
+				return;
+			bufp = (int) Math.max(bufp, Math.min(buflen, limit - bufferOffset));
+			for (; bufp < buflen; ++bufp) {
+				if (buf.get(bufp) == delimiter)
+					return;
+			}
 		}
 	}
 
-	private void readDigits(final StringBuilder sb) throws IOException {
+	@Override
+	protected void skipNested(final long limit, final MyrJsonSkipValidator validator) throws IOException {
+		int depth = 0;
+		boolean inString = false;
+		boolean escape = false;
 		while (true) {
-			final int ch = peekChar();
-			if (ch < '0' || ch > '9')
-				return;
-
-			sb.append(readChar());
+			maybeFillBuffer();
+			if (buflen == -1)
+				throw new EOFException();
+			for (; bufp < buflen; ++bufp) {
+				final char ch = buf.get(bufp);
+				if (inString) {
+					if (escape)
+						escape = false;
+					else if (ch == '\\')
+						escape = true;
+					else if (ch == '"')
+						inString = false;
+					continue;
+				}
+				if (validator != null && !validator.accept(ch))
+					throw unexpected(ch);
+				switch (ch) {
+					case '"' -> inString = true;
+					case '[', '{' -> ++depth;
+					case ']', '}' -> {
+						if (depth-- == 0)
+							return;
+					}
+					case ',' -> {
+						if (depth == 0 && bufferOffset + bufp >= limit)
+							return;
+					}
+					default -> {
+						/* Nothing */
+					}
+				}
+			}
 		}
 	}
 
-	private void skipWhitespace() throws IOException {
+	@Override
+	protected void skipWhitespace() throws IOException {
 		while (true) {
 			maybeFillBuffer();
 			if (buflen == -1)
 				throw new EOFException();
 			while (bufp < buflen) {
-				char ch = buf[bufp];
-				if (ch == '\n') {
-					++lineNo;
-					columnNo = 1;
-				} else {
-					++columnNo;
-				}
-				++offset;
-
+				final char ch = buf.get(bufp);
 				if (ch != ' ' && ch != '\n' && ch != '\r' && ch != '\t')
 					return;
 
@@ -356,110 +402,75 @@ public final class MyrJsonStreamParser extends MyrJsonParserBase {
 		}
 	}
 
-	private void startArray(final State nextState) {
-		stack.push(nextState);
-		state = State.ARRAY_INIT;
-		event = Event.START_ARRAY;
+	@Override
+	protected Slicer slicer() {
+		if (in != null)
+			return null;
+		return new TextSlicer(buf, bufferOffset, context, mutableText);
 	}
 
-	private void startObject(final State nextState) {
-		stack.push(nextState);
-		state = State.OBJECT_INIT;
-		event = Event.START_OBJECT;
-	}
+	private final class StringView implements CharSequence {
+		private MyrJsonSymbolTable symbols;
 
-	private void valueKeyword(final State nextState, final char ch0) throws IOException {
-		final StringBuilder sb = new StringBuilder();
-		sb.append(ch0);
+		private int from;
 
-		while (sb.length() < 5) {
-			final int ch = peekChar();
-			if (ch < 'a' || ch > 'z')
-				break;
-			sb.append(readChar());
-		}
+		private int to;
 
-		final String keyword = sb.toString();
-		switch (keyword) {
-			case "true" -> event = Event.VALUE_TRUE;
-			case "false" -> event = Event.VALUE_FALSE;
-			case "null" -> event = Event.VALUE_NULL;
-			default -> throw new JsonParsingException("Unknown keyword: " + keyword, location);
+		@Override
+		public char charAt(final int index) {
+			Objects.checkIndex(index, to - from);
+			return buf.get(from + index);
 		}
 
-		state = nextState;
-	}
-
-	private void valueNumber(final State nextState, final char ch0) throws IOException {
-		final StringBuilder sb = new StringBuilder();
-		sb.append(ch0);
-
-		int ch;
-		if (ch0 == '-') {
-			ch = readChar();
-			if (ch < '0' || ch > '9')
-				throw new JsonParsingException("Not a number", location);
-			sb.append((char) ch);
-		} else {
-			ch = ch0;
+		@Override
+		public int length() {
+			return to - from;
 		}
 
-		if (ch != '0') {
-			readDigits(sb);
+		@Override
+		public CharSequence subSequence(final int start, final int end) {
+			Objects.checkFromToIndex(start, end, to - from);
+			return substring(from + start, from + end);
 		}
 
-		ch = peekChar();
-
-		if (ch == '.') {
-			sb.append('.');
-			readChar();
-			readDigits(sb);
-			ch = peekChar();
+		@Override
+		public String toString() {
+			String str = symbols != null ? symbols.lookup(buf, from, to) : null;
+			if (str == null) {
+				str = substring(from, to);
+				if (symbols != null)
+					symbols.put(str);
+			}
+			return str;
 		}
+	}
 
-		if (ch == 'e' || ch == 'E') {
-			sb.append((char) ch);
-			readChar();
-			ch = readChar();
-			if (ch != '+' && ch != '-' && (ch < '0' || ch > '9'))
-				throw new JsonParsingException("Not a number", location);
-			sb.append((char) ch);
-			readDigits(sb);
-		}
+	private static final class TextSlicer implements Slicer {
+		private final CharBuffer source;
 
-		try {
-			numberValue = new BigDecimal(sb.toString());
-		} catch (final NumberFormatException ex) {
-			throw new JsonParsingException(ex.getMessage(), ex, location);
-		}
+		private final long offset;
 
-		state = nextState;
-		event = Event.VALUE_NUMBER;
-	}
+		private final MyrJsonContext context;
 
-	private void valueString(final State nextState) throws IOException {
-		parseString();
-		state = nextState;
-		event = Event.VALUE_STRING;
-	}
+		private final boolean mutable;
 
-	@Override
-	protected boolean isInArray() {
-		return switch (state) {
-			case ARRAY_INIT, ARRAY_VALUE, ARRAY_COMMA -> true;
-			default -> false;
-		};
-	}
+		public TextSlicer(final CharBuffer source, final long offset, final MyrJsonContext context, final boolean mutable) {
+			this.source = source;
+			this.offset = offset;
+			this.context = context;
+			this.mutable = mutable;
+		}
 
-	@Override
-	protected boolean isInObject() {
-		return switch (state) {
-			case OBJECT_INIT, OBJECT_KEY, OBJECT_VALUE, OBJECT_COMMA -> true;
-			default -> false;
-		};
-	}
+		@Override
+		public Slicer detach(final long from, final long to) {
+			if (!mutable)
+				return this;
+			return new TextSlicer(CharBuffer.wrap(source.subSequence((int) (from - offset), (int) (to - offset)).toString()), from, context, false);
+		}
 
-	private enum State {
-		INIT, OBJECT_INIT, OBJECT_KEY, OBJECT_VALUE, OBJECT_COMMA, ARRAY_INIT, ARRAY_VALUE, ARRAY_COMMA, END
+		@Override
+		public MyrJsonTextParser slice(final long from, final long to, final int depth) {
+			return new MyrJsonStreamParser(source.subSequence((int) (from - offset), (int) (to - offset)), context, from, depth, false);
+		}
 	}
 }
@@ -0,0 +1,150 @@
+package se.narstrom.myr.json.parser;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+
+final class MyrJsonStructuralIndex {
+	private static final int BLOCK_SIZE = 1 << 14;
+
+	private static final Classifier CLASSIFIER = createClassifier();
+
+	private final long[] nonWhitespace = new long[BLOCK_SIZE >>> 6];
+
+	private final long[] quotesAndEscapes = new long[BLOCK_SIZE >>> 6];
+
+	private final long[] nonAscii = new long[BLOCK_SIZE >>> 6];
+
+	private final Classifier classifier;
+
+	private byte[] scratch = null;
+
+	private ByteBuffer buf = null;
+
+	private int length = 0;
+
+	private int blockStart = 0;
+
+	private int blockEnd = 0;
+
+	MyrJsonStructuralIndex() {
+		this(CLASSIFIER);
+	}
+
+	MyrJsonStructuralIndex(final Classifier classifier) {
+		this.classifier = classifier;
+	}
+
+	static boolean isVectorized() {
+		return CLASSIFIER != Classifier.SCALAR;
+	}
+
+	boolean isAscii(int from, final int to) {
+		while (from < to) {
+			ensureIndexed(from);
+			final int end = Math.min(to, blockEnd);
+			while (from < end) {
+				final int bit = (from - blockStart) & 63;
+				final int n = Math.min(64 - bit, end - from);
+				final long mask = (n == 64 ? -1L : (1L << n) - 1) << bit;
+				if ((nonAscii[(from - blockStart) >>> 6] & mask) != 0)
+					return false;
+				from += n;
+			}
+		}
+		return true;
+	}
+
+	int nextNonWhitespace(final int from) {
+		return next(nonWhitespace, from);
+	}
+
+	int nextQuoteOrEscape(final int from) {
+		return next(quotesAndEscapes, from);
+	}
+
+	void reset(final ByteBuffer buf, final int length) {
+		this.buf = buf;
+		this.length = length;
+		this.blockStart = 0;
+		this.blockEnd = 0;
+	}
+
+	private void ensureIndexed(final int pos) {
+		if (blockStart <= pos && pos < blockEnd)
+			return;
+
+		blockStart = pos & -BLOCK_SIZE;
+		blockEnd = Math.min(blockStart + BLOCK_SIZE, length);
+		final int len = blockEnd - blockStart;
+
+		final byte[] bytes;
+		final int off;
+		if (buf.hasArray()) {
+			bytes = buf.array();
+			off = buf.arrayOffset() + blockStart;
+		} else {
+			if (scratch == null)
+				scratch = new byte[BLOCK_SIZE];
+			buf.get(blockStart, scratch, 0, len);
+			bytes = scratch;
+			off = 0;
+		}
+
+		final int done = classifier.classify(bytes, off, len, nonWhitespace, quotesAndEscapes, nonAscii);
+		for (int i = done; i < len; i += 64) {
+			final int end = Math.min(i + 64, len);
+			long ws = 0;
+			long qe = 0;
+			long na = 0;
+			for (int j = i; j < end; ++j) {
+				final byte b = bytes[off + j];
+				final long bit = 1L << (j - i);
+				if (b != ' ' && b != '\n' && b != '\r' && b != '\t')
+					ws |= bit;
+				if (b == '"' || b == '\\')
+					qe |= bit;
+				if (b < 0)
+					na |= bit;
+			}
+			nonWhitespace[i >>> 6] = ws;
+			quotesAndEscapes[i >>> 6] = qe;
+			nonAscii[i >>> 6] = na;
+		}
+	}
+
+	private int next(final long[] bits, int from) {
+		while (from < length) {
+			ensureIndexed(from);
+			final int words = (blockEnd - blockStart + 63) >>> 6;
+			int i = (from - blockStart) >>> 6;
+			long word = bits[i] & (-1L << ((from - blockStart) & 63));
+			while (true) {
+				if (word != 0)
+					return blockStart + (i << 6) + Long.numberOfTrailingZeros(word);
+				if (++i == words)
+					break;
+				word = bits[i];
+			}
+			from = blockEnd;
+		}
+		return length;
+	}
+
+	private static Classifier createClassifier() {
+		if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty())
+			return Classifier.SCALAR;
+		try {
+			final Class<?> type = Class.forName("se.narstrom.myr.json.parser.MyrJsonVectorClassifier");
+			return (Classifier) MethodHandles.lookup().findStatic(type, "create", MethodType.methodType(Classifier.class)).invoke();
+		} catch (final Throwable ex) {
+			return Classifier.SCALAR;
+		}
+	}
+
+	interface Classifier {
+		Classifier SCALAR = (bytes, off, len, nonWhitespace, quotesAndEscapes, nonAscii) -> 0;
+
+		int classify(byte[] bytes, int off, int len, long[] nonWhitespace, long[] quotesAndEscapes, long[] nonAscii);
+	}
+}
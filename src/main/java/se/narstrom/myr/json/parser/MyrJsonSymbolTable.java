@@ -0,0 +1,75 @@
+package se.narstrom.myr.json.parser;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+public final class MyrJsonSymbolTable {
+	private static final int MAX_SIZE = 1 << 20;
+
+	private static final int MAX_SYMBOL_LENGTH = 64;
+
+	private final String[] symbols;
+
+	private final int mask;
+
+	public MyrJsonSymbolTable(final int size) {
+		if (size <= 0)
+			throw new IllegalArgumentException("Symbol table size must be positive");
+		final int capacity = Integer.highestOneBit(Math.min(Math.max(size, 2) * 2 - 1, MAX_SIZE));
+		this.symbols = new String[capacity];
+		this.mask = capacity - 1;
+	}
+
+	String lookup(final CharBuffer chars, final int from, final int to) {
+		final int len = to - from;
+		if (len > MAX_SYMBOL_LENGTH)
+			return null;
+
+		int hash = 0;
+		for (int i = from; i < to; ++i)
+			hash = 31 * hash + chars.get(i);
+
+		final int index = spread(hash) & mask;
+		final String symbol = symbols[index];
+		if (symbol != null && symbol.length() == len) {
+			int i = 0;
+			while (i < len && symbol.charAt(i) == chars.get(from + i))
+				++i;
+			if (i == len)
+				return symbol;
+		}
+
+		return null;
+	}
+
+	String lookup(final ByteBuffer ascii, final int from, final int to) {
+		final int len = to - from;
+		if (len > MAX_SYMBOL_LENGTH)
+			return null;
+
+		int hash = 0;
+		for (int i = from; i < to; ++i)
+			hash = 31 * hash + ascii.get(i);
+
+		final int index = spread(hash) & mask;
+		final String symbol = symbols[index];
+		if (symbol != null && symbol.length() == len) {
+			int i = 0;
+			while (i < len && symbol.charAt(i) == ascii.get(from + i))
+				++i;
+			if (i == len)
+				return symbol;
+		}
+
+		return null;
+	}
+
+	void put(final String symbol) {
+		if (symbol.length() <= MAX_SYMBOL_LENGTH)
+			symbols[spread(symbol.hashCode()) & mask] = symbol;
+	}
+
+	private static int spread(final int hash) {
+		return hash ^ (hash >>> 16);
+	}
+}
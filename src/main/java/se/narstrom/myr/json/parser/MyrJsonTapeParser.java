@@ -0,0 +1,197 @@
+package se.narstrom.myr.json.parser;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue.ValueType;
+import jakarta.json.stream.JsonLocation;
+import se.narstrom.myr.json.MyrJsonContext;
+import se.narstrom.myr.json.value.MyrJsonTape;
+
+public final class MyrJsonTapeParser extends MyrJsonParserBase {
+	private static final JsonLocation LOCATION = new MyrJsonLocation(-1, -1, -1);
+
+	private final MyrJsonTape tape;
+
+	private final int end;
+
+	private int[] stack = new int[16];
+
+	private int depth = 0;
+
+	private int position;
+
+	private int current = -1;
+
+	private Event event = null;
+
+	public MyrJsonTapeParser(final MyrJsonTape tape, final int index, final MyrJsonContext context) {
+		super(context);
+		this.tape = tape;
+		this.position = index;
+		this.end = tape.next(index);
+	}
+
+	@Override
+	public void close() {
+		/* Nothing */
+	}
+
+	@Override
+	public Event currentEvent() {
+		return event;
+	}
+
+	@Override
+	public JsonArray getArray() {
+		if (event != Event.START_ARRAY)
+			throw new IllegalStateException();
+		final JsonArray array = (JsonArray) tape.getValue(current);
+		position = tape.end(current);
+		next();
+		return array;
+	}
+
+	@Override
+	public BigDecimal getBigDecimal() {
+		return getJsonNumber().bigDecimalValue();
+	}
+
+	@Override
+	public CharSequence getCharSequence() {
+		if (event != Event.KEY_NAME && event != Event.VALUE_STRING)
+			return super.getCharSequence();
+		return tape.getChars(current);
+	}
+
+	@Override
+	public int getInt() {
+		if (event == Event.VALUE_NUMBER && tape.isLong(current))
+			return (int) tape.getLong(current);
+		return super.getInt();
+	}
+
+	@Override
+	public JsonLocation getLocation() {
+		return LOCATION;
+	}
+
+	@Override
+	public long getLong() {
+		if (event == Event.VALUE_NUMBER && tape.isLong(current))
+			return tape.getLong(current);
+		return super.getLong();
+	}
+
+	@Override
+	public JsonObject getObject() {
+		if (event != Event.START_OBJECT)
+			throw new IllegalStateException();
+		final JsonObject object = (JsonObject) tape.getValue(current);
+		position = tape.end(current);
+		next();
+		return object;
+	}
+
+	@Override
+	public String getString() {
+		return switch (event) {
+			case KEY_NAME, VALUE_STRING -> tape.getString(current);
+			case null, default -> throw new IllegalStateException();
+		};
+	}
+
+	@Override
+	public boolean hasNext() {
+		return position < end;
+	}
+
+	@Override
+	public boolean isIntegralNumber() {
+		if (event == Event.VALUE_NUMBER && tape.isLong(current))
+			return true;
+		return super.isIntegralNumber();
+	}
+
+	@Override
+	public Event next() {
+		if (position >= end)
+			throw new NoSuchElementException();
+
+		if (isInObject() && event != Event.KEY_NAME) {
+			if (!tape.isEnd(position)) {
+				current = position++;
+				event = Event.KEY_NAME;
+				return event;
+			}
+		}
+
+		current = position;
+		if (tape.isEnd(position)) {
+			event = isInObject() ? Event.END_OBJECT : Event.END_ARRAY;
+			--depth;
+			++position;
+			return event;
+		}
+
+		event = switch (tape.getValueType(position)) {
+			case OBJECT -> Event.START_OBJECT;
+			case ARRAY -> Event.START_ARRAY;
+			case STRING -> Event.VALUE_STRING;
+			case NUMBER -> Event.VALUE_NUMBER;
+			case TRUE -> Event.VALUE_TRUE;
+			case FALSE -> Event.VALUE_FALSE;
+			case NULL -> Event.VALUE_NULL;
+		};
+		if (event == Event.START_OBJECT || event == Event.START_ARRAY) {
+			push(position);
+			++position;
+		} else {
+			position = tape.next(position);
+		}
+		return event;
+	}
+
+	@Override
+	public void skipArray() {
+		if (isInArray()) {
+			position = tape.end(stack[depth - 1]);
+			next();
+		}
+	}
+
+	@Override
+	public void skipObject() {
+		if (isInObject()) {
+			position = tape.end(stack[depth - 1]);
+			next();
+		}
+	}
+
+	@Override
+	protected JsonNumber getJsonNumber() {
+		if (event != Event.VALUE_NUMBER)
+			throw new IllegalStateException();
+		return tape.getNumber(current);
+	}
+
+	@Override
+	protected boolean isInArray() {
+		return depth > 0 && tape.getValueType(stack[depth - 1]) == ValueType.ARRAY;
+	}
+
+	@Override
+	protected boolean isInObject() {
+		return depth > 0 && tape.getValueType(stack[depth - 1]) == ValueType.OBJECT;
+	}
+
+	private void push(final int index) {
+		if (depth == stack.length)
+			stack = Arrays.copyOf(stack, depth * 2);
+		stack[depth++] = index;
+	}
+}
@@ -0,0 +1,975 @@
+package se.narstrom.myr.json.parser;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonLocation;
+import jakarta.json.stream.JsonParsingException;
+import se.narstrom.myr.json.MyrJsonContext;
+import se.narstrom.myr.json.MyrJsonDepthStack;
+import se.narstrom.myr.json.value.MyrJsonDoubleNumber;
+import se.narstrom.myr.json.value.MyrJsonLazyArray;
+import se.narstrom.myr.json.value.MyrJsonLazyObject;
+import se.narstrom.myr.json.value.MyrJsonNumber;
+import se.narstrom.myr.json.value.MyrJsonString;
+import se.narstrom.myr.json.value.MyrJsonTapeBuilder;
+import se.narstrom.myr.json.value.MyrJsonTreeBuilder;
+
+public abstract class MyrJsonTextParser extends MyrJsonParserBase {
+	private static final long MIN_SPLIT_SIZE = 1 << 16;
+
+	private static final long MAX_SPLIT_SIZE = 1 << 24;
+
+	private static final char RECORD_SEPARATOR = '\u001E';
+
+	private final MyrJsonDepthStack stack;
+
+	private final int baseDepth;
+
+	private Event event = null;
+
+	private long tokenOffset = -1;
+
+	private JsonLocation location = null;
+
+	private String stringValue = null;
+
+	private CharSequence stringView = null;
+
+	private char[] numberChars = new char[32];
+
+	private int numberLength = -1;
+
+	private long numberLong = 0;
+
+	private boolean numberIsLong = false;
+
+	private long numberScale = 0;
+
+	private BigDecimal numberValue = null;
+
+	private State state = State.INIT;
+
+	private MyrJsonSkipValidator validator = null;
+
+	protected MyrJsonTextParser(final MyrJsonContext context) {
+		this(context, 0);
+	}
+
+	protected MyrJsonTextParser(final MyrJsonContext context, final int baseDepth) {
+		super(context);
+		this.stack = new MyrJsonDepthStack(context.getMaxDepth() - baseDepth);
+		this.baseDepth = baseDepth;
+	}
+
+	@Override
+	public void close() {
+		try {
+			closeInput();
+		} catch (final IOException ex) {
+			throw new JsonParsingException(ex.getMessage(), ex, location());
+		}
+	}
+
+	@Override
+	public Event currentEvent() {
+		return event;
+	}
+
+	@Override
+	public BigDecimal getBigDecimal() {
+		if (numberLength == -1)
+			throw new IllegalStateException();
+		if (numberValue == null)
+			numberValue = new BigDecimal(numberChars, 0, numberLength);
+		return numberValue;
+	}
+
+	@Override
+	public double getDouble() {
+		if (numberLength == -1)
+			throw new IllegalStateException();
+		if (numberIsLong)
+			return numberLong;
+		return MyrJsonDoubleConversion.parseDouble(numberChars, numberLength);
+	}
+
+	@Override
+	public int getInt() {
+		if (numberLength == -1)
+			throw new IllegalStateException();
+		if (numberIsLong)
+			return (int) numberLong;
+		return getBigDecimal().intValue();
+	}
+
+	@Override
+	public Stream<JsonValue> getArrayStream() {
+		if (event != Event.START_ARRAY)
+			throw new IllegalStateException();
+		return StreamSupport.stream(new ArraySpliterator(), false);
+	}
+
+	public int getKeyIndex(final MyrJsonKeyMatcher matcher) {
+		if (event != Event.KEY_NAME)
+			throw new IllegalStateException();
+		return matcher.match(getCharSequence());
+	}
+
+	@Override
+	public JsonLocation getLocation() {
+		return location();
+	}
+
+	@Override
+	public long getLong() {
+		if (numberLength == -1)
+			throw new IllegalStateException();
+		if (numberIsLong)
+			return numberLong;
+		return getBigDecimal().longValue();
+	}
+
+	@Override
+	public CharSequence getCharSequence() {
+		if (stringValue != null)
+			return stringValue;
+		if (stringView == null)
+			throw new IllegalStateException();
+		return stringView;
+	}
+
+	@Override
+	public String getString() {
+		if (stringValue == null) {
+			if (stringView == null)
+				throw new IllegalStateException();
+			stringValue = stringView.toString();
+		}
+		return stringValue;
+	}
+
+	public Stream<JsonValue> getRecordStream() {
+		if (event != null)
+			throw new IllegalStateException();
+		return StreamSupport.stream(new RecordSpliterator(this, (char) 0, true, isSplittable()), false);
+	}
+
+	public boolean contentEquals(final CharSequence other) {
+		final CharSequence str = getCharSequence();
+		return str.length() == other.length() && regionMatches(0, other, 0, other.length());
+	}
+
+	@Override
+	public boolean hasNext() {
+		return state != State.END;
+	}
+
+	@Override
+	public boolean isIntegralNumber() {
+		if (numberLength == -1)
+			throw new IllegalStateException();
+		return numberScale == 0;
+	}
+
+	@Override
+	public JsonValue getValue() {
+		if (event == null)
+			throw new IllegalStateException();
+		return super.getValue();
+	}
+
+	@Override
+	public Event next() {
+		final State resumeState = state;
+		try {
+			clearToken();
+
+			while (event == null) {
+				switch (state) {
+					case INIT -> nextInit();
+					case OBJECT_INIT -> nextObjectInit();
+					case OBJECT_KEY -> nextObjectKey();
+					case OBJECT_VALUE -> nextObjectValue();
+					case OBJECT_COMMA -> nextObjectComma();
+					case ARRAY_INIT -> nextArrayInit();
+					case ARRAY_VALUE -> nextArrayValue();
+					case ARRAY_COMMA -> nextArrayComma();
+					case END -> throw new NoSuchElementException("End of stream");
+				}
+			}
+			return event;
+		} catch (final NeedMoreInput ex) {
+			state = resumeState;
+			clearToken();
+			throw ex;
+		} catch (final IOException ex) {
+			throw new JsonParsingException(ex.getMessage(), ex, location());
+		}
+	}
+
+	public JsonValue readTree() {
+		if (event != null || state != State.INIT)
+			throw new IllegalStateException();
+		final MyrJsonTreeBuilder tree = tree();
+		final int mark = tree.mark();
+		try {
+			final Slicer slicer = context.isLazyTrees() ? slicer() : null;
+			final LazySlices lazy = slicer != null ? new LazySlices() : null;
+			final JsonValue value = readTreeValue(tree, lazy);
+			if (lazy != null && lazy.from <= lazy.to)
+				lazy.slicer = slicer.detach(lazy.from, lazy.to);
+			state = State.END;
+			return value;
+		} catch (final NeedMoreInput ex) {
+			throw new IllegalStateException("Incomplete input");
+		} catch (final IOException ex) {
+			throw new JsonParsingException(ex.getMessage(), ex, location());
+		} finally {
+			tree.truncate(mark);
+		}
+	}
+
+	public boolean regionMatches(final int offset, final CharSequence other, final int otherOffset, final int length) {
+		final CharSequence str = getCharSequence();
+		if (offset < 0 || otherOffset < 0 || offset > str.length() - length || otherOffset > other.length() - length)
+			return false;
+		for (int i = 0; i < length; ++i) {
+			if (str.charAt(offset + i) != other.charAt(otherOffset + i))
+				return false;
+		}
+		return true;
+	}
+
+	@Override
+	public void skipArray() {
+		if (isInArray())
+			skipContainer(']');
+	}
+
+	@Override
+	public void skipObject() {
+		if (isInObject())
+			skipContainer('}');
+	}
+
+	protected abstract void closeInput() throws IOException;
+
+	protected abstract MyrJsonTextParser createSlice(long from, long to, int depth);
+
+	protected abstract JsonLocation createLocation(long offset);
+
+	protected final void detachString() {
+		if (stringValue == null && stringView != null)
+			stringValue = stringView.toString();
+	}
+
+	protected final JsonLocation location() {
+		if (location == null && tokenOffset != -1)
+			location = createLocation(tokenOffset);
+		return location;
+	}
+
+	protected abstract CharSequence parseKey() throws IOException;
+
+	protected abstract CharSequence parseString() throws IOException;
+
+	protected abstract boolean isSplittable();
+
+	protected abstract int peekChar() throws IOException;
+
+	protected abstract long position();
+
+	protected abstract char readChar() throws IOException;
+
+	protected final void resetState() {
+		clearToken();
+		clearTree();
+		stack.clear();
+		state = State.INIT;
+	}
+
+	protected abstract void seek(long limit, char delimiter) throws IOException;
+
+	protected abstract void skipNested(long limit, MyrJsonSkipValidator validator) throws IOException;
+
+	protected abstract void skipWhitespace() throws IOException;
+
+	protected abstract Slicer slicer();
+
+	protected final JsonParsingException unexpected(final char ch) {
+		markToken();
+		return new JsonParsingException("Unexpected " + ch, location());
+	}
+
+	private void checkDepth() {
+		if (stack.isFull())
+			throw new JsonParsingException("Maximum nesting depth " + context.getMaxDepth() + " exceeded", location());
+	}
+
+	private void clearToken() {
+		event = null;
+		tokenOffset = -1;
+		location = null;
+		stringValue = null;
+		stringView = null;
+		numberLength = -1;
+		numberValue = null;
+	}
+
+	private MyrJsonDoubleNumber doubleNumber() {
+		long unscaled = 0;
+		int digits = 0;
+		for (int i = 0; i < numberLength; ++i) {
+			final char ch = numberChars[i];
+			if (ch == 'e' || ch == 'E')
+				break;
+			if (ch >= '0' && ch <= '9' && (ch != '0' || unscaled != 0)) {
+				if (++digits > 18)
+					return null;
+				unscaled = unscaled * 10 + (ch - '0');
+			}
+		}
+
+		final double value = getDouble();
+		if (!Double.isFinite(value))
+			return null;
+		return new MyrJsonDoubleNumber(value, numberChars[0] == '-' ? -unscaled : unscaled, (int) numberScale);
+	}
+
+	private void endArray() {
+		stack.pop();
+		state = parentState();
+		event = Event.END_ARRAY;
+	}
+
+	private void endObject() {
+		stack.pop();
+		state = parentState();
+		event = Event.END_OBJECT;
+	}
+
+	private void keyName() throws IOException {
+		stringView = parseKey();
+		skipWhitespace();
+		if (readChar() != ':')
+			throw new JsonParsingException("Expected ':' after key", location());
+		state = State.OBJECT_VALUE;
+		event = Event.KEY_NAME;
+	}
+
+	private JsonValue readLazyValue(final MyrJsonTreeBuilder tree, final LazySlices lazy) throws IOException {
+		skipWhitespace();
+		final int open = peekChar();
+		if (open != '{' && open != '[')
+			return readTreeValue(tree, null);
+
+		markToken();
+		checkDepth();
+		final long from = position();
+		readChar();
+		clearToken();
+		if (validator == null)
+			validator = new MyrJsonSkipValidator();
+		skipNested(Long.MAX_VALUE, validator.reset(open == '[', true));
+		markToken();
+		final char close = readChar();
+		if (close != (open == '{' ? '}' : ']'))
+			throw new JsonParsingException("Unexpected " + close + ", expected " + (open == '{' ? '}' : ']'), location());
+
+		final long to = position();
+		final int depth = baseDepth + stack.depth();
+		lazy.from = Math.min(lazy.from, from);
+		lazy.to = to;
+		final Supplier<JsonValue> loader = () -> lazy.slicer.slice(from, to, depth).readTree();
+		return open == '{' ? new MyrJsonLazyObject(loader) : new MyrJsonLazyArray(loader);
+	}
+
+	private JsonArray readTreeArray(final MyrJsonTreeBuilder tree, final LazySlices lazy) throws IOException {
+		push(true);
+		final int mark = tree.mark();
+		skipWhitespace();
+		if (peekChar() == ']') {
+			readChar();
+		} else {
+			while (true) {
+				tree.add(lazy != null ? readLazyValue(tree, lazy) : readTreeValue(tree, null));
+				skipWhitespace();
+				markToken();
+				final char ch = readChar();
+				if (ch == ']')
+					break;
+				if (ch != ',')
+					throw new JsonParsingException("Unexpected " + ch + ", expected ',' or ']'", location());
+			}
+		}
+		stack.pop();
+		return tree.buildArray(mark);
+	}
+
+	private JsonObject readTreeObject(final MyrJsonTreeBuilder tree, final LazySlices lazy) throws IOException {
+		push(false);
+		final int mark = tree.mark();
+		skipWhitespace();
+		if (peekChar() == '}') {
+			readChar();
+		} else {
+			while (true) {
+				skipWhitespace();
+				markToken();
+				final char ch = readChar();
+				if (ch != '\"')
+					throw new JsonParsingException("Unexpected " + ch + ", expected key", location());
+				final String key = parseKey().toString();
+				skipWhitespace();
+				if (readChar() != ':')
+					throw new JsonParsingException("Expected ':' after key", location());
+				tree.add(key, lazy != null ? readLazyValue(tree, lazy) : readTreeValue(tree, null));
+
+				skipWhitespace();
+				markToken();
+				final char sep = readChar();
+				if (sep == '}')
+					break;
+				if (sep != ',')
+					throw new JsonParsingException("Unexpected " + sep + ", expected ',' or '}'", location());
+			}
+		}
+		stack.pop();
+		return tree.buildObject(mark);
+	}
+
+	private JsonValue readTreeValue(final MyrJsonTreeBuilder tree, final LazySlices lazy) throws IOException {
+		clearToken();
+		skipWhitespace();
+		markToken();
+
+		final char ch = readChar();
+		return switch (ch) {
+			case '{' -> readTreeObject(tree, lazy);
+			case '[' -> readTreeArray(tree, lazy);
+			case '\"' -> new MyrJsonString(parseString().toString());
+			case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> {
+				valueNumber(state, ch);
+				yield getJsonNumber();
+			}
+			default -> {
+				valueKeyword(state, ch);
+				yield switch (event) {
+					case VALUE_TRUE -> JsonValue.TRUE;
+					case VALUE_FALSE -> JsonValue.FALSE;
+					default -> JsonValue.NULL;
+				};
+			}
+		};
+	}
+
+	private void skipContainer(final char close) {
+		try {
+			clearToken();
+			skipNested(Long.MAX_VALUE, null);
+			markToken();
+
+			final char ch = readChar();
+			if (ch != close)
+				throw new JsonParsingException("Unexpected " + ch + ", state: " + state, location());
+			if (ch == ']')
+				endArray();
+			else
+				endObject();
+		} catch (final NeedMoreInput ex) {
+			clearToken();
+			throw ex;
+		} catch (final IOException ex) {
+			throw new JsonParsingException(ex.getMessage(), ex, location());
+		}
+	}
+
+	private long[] splitElements(final long minSize) {
+		try {
+			if (state != State.ARRAY_INIT && state != State.ARRAY_COMMA)
+				return null;
+
+			skipWhitespace();
+			if (peekChar() == ']')
+				return null;
+			if (state == State.ARRAY_COMMA) {
+				markToken();
+				final char ch = readChar();
+				if (ch != ',')
+					throw new JsonParsingException("Unexpected " + ch + ", state: " + state, location());
+				skipWhitespace();
+			}
+
+			final long from = position();
+			skipNested(from + minSize, null);
+			state = State.ARRAY_COMMA;
+			return new long[] { from, position() };
+		} catch (final IOException ex) {
+			throw new JsonParsingException(ex.getMessage(), ex, location());
+		}
+	}
+
+	private long[] splitRecords(final long minSize, final char separator) {
+		try {
+			final long from = position();
+			seek(from + minSize, separator);
+			final long to = position();
+			return to != from ? new long[] { from, to } : null;
+		} catch (final IOException ex) {
+			throw new JsonParsingException(ex.getMessage(), ex, location());
+		}
+	}
+
+	private boolean startRecord(final char separator, final boolean first) {
+		try {
+			clearToken();
+			boolean separated = false;
+			int ch;
+			while (true) {
+				ch = peekChar();
+				if (ch == separator) {
+					if (separator == ',' && (first || separated)) {
+						markToken();
+						throw new JsonParsingException("Unexpected ,", location());
+					}
+					separated = true;
+				} else if (ch != ' ' && ch != '\n' && ch != '\r' && ch != '\t')
+					break;
+				readChar();
+			}
+
+			markToken();
+			if (ch == -1) {
+				if (separated && separator == ',')
+					throw new JsonParsingException("Unexpected end of input", location());
+				return false;
+			}
+			if (!separated && (!first || separator == RECORD_SEPARATOR))
+				throw new JsonParsingException("Unexpected " + (char) ch + (separator == ',' ? ", expected ',' or ']'" : ", expected record separator"), location());
+
+			state = State.INIT;
+			return true;
+		} catch (final NeedMoreInput ex) {
+			throw new IllegalStateException("Incomplete input");
+		} catch (final IOException ex) {
+			throw new JsonParsingException(ex.getMessage(), ex, location());
+		}
+	}
+
+	private void markToken() {
+		tokenOffset = position();
+		location = null;
+	}
+
+	private void nextArrayComma() throws IOException {
+		skipWhitespace();
+		markToken();
+
+		final char ch = readChar();
+		switch (ch) {
+			case ']' -> endArray();
+			case ',' -> state = State.ARRAY_VALUE;
+			default -> throw new JsonParsingException("Unexpected " + ch + ", expected ',' or ']'", location());
+		}
+	}
+
+	private void nextArrayInit() throws IOException {
+		skipWhitespace();
+		markToken();
+
+		if (peekChar() == ']') {
+			readChar();
+			endArray();
+			return;
+		}
+
+		nextValue(State.ARRAY_COMMA);
+	}
+
+	private void nextArrayValue() throws IOException {
+		nextValue(State.ARRAY_COMMA);
+	}
+
+	private void nextInit() throws IOException {
+		nextValue(State.END);
+	}
+
+	private void nextObjectComma() throws IOException {
+		skipWhitespace();
+		markToken();
+
+		final char ch = readChar();
+		switch (ch) {
+			case '}' -> endObject();
+			case ',' -> state = State.OBJECT_KEY;
+			default -> throw new JsonParsingException("Unexpected " + ch + ", expected ',' or '}'", location());
+		}
+	}
+
+	private void nextObjectInit() throws IOException {
+		skipWhitespace();
+		markToken();
+
+		final char ch = readChar();
+		switch (ch) {
+			case '}' -> endObject();
+			case '\"' -> keyName();
+			default -> throw new JsonParsingException("Unexpected " + ch + ", state: " + state, location());
+		}
+	}
+
+	private void nextObjectKey() throws IOException {
+		skipWhitespace();
+		markToken();
+
+		final char ch = readChar();
+		if (ch != '\"')
+			throw new JsonParsingException("Unexpected " + ch + ", sate: " + state, location());
+		keyName();
+	}
+
+	private void nextObjectValue() throws IOException {
+		nextValue(State.OBJECT_COMMA);
+	}
+
+	private void nextValue(final State nextState) throws IOException {
+		skipWhitespace();
+		markToken();
+
+		final char ch = readChar();
+		switch (ch) {
+			case '{' -> startObject();
+			case '[' -> startArray();
+			case '\"' -> valueString(nextState);
+			case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> valueNumber(nextState, ch);
+			default -> valueKeyword(nextState, ch);
+		}
+	}
+
+	private State parentState() {
+		if (stack.isEmpty())
+			return State.END;
+		return stack.isArray() ? State.ARRAY_COMMA : State.OBJECT_COMMA;
+	}
+
+	private void push(final boolean array) {
+		checkDepth();
+		stack.push(array);
+	}
+
+	private void appendNumberChar(final char ch) {
+		if (numberLength == numberChars.length)
+			numberChars = Arrays.copyOf(numberChars, numberChars.length * 2);
+		numberChars[numberLength++] = ch;
+	}
+
+	private int readDigits() throws IOException {
+		int count = 0;
+		while (true) {
+			final int ch = peekChar();
+			if (ch < '0' || ch > '9')
+				return count;
+
+			appendNumberChar(readChar());
+			++count;
+		}
+	}
+
+	private void startArray() {
+		push(true);
+		state = State.ARRAY_INIT;
+		event = Event.START_ARRAY;
+	}
+
+	private void startObject() {
+		push(false);
+		state = State.OBJECT_INIT;
+		event = Event.START_OBJECT;
+	}
+
+	private void valueKeyword(final State nextState, final char ch0) throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		sb.append(ch0);
+
+		while (sb.length() < 5) {
+			final int ch = peekChar();
+			if (ch < 'a' || ch > 'z')
+				break;
+			sb.append(readChar());
+		}
+
+		final String keyword = sb.toString();
+		switch (keyword) {
+			case "true" -> event = Event.VALUE_TRUE;
+			case "false" -> event = Event.VALUE_FALSE;
+			case "null" -> event = Event.VALUE_NULL;
+			default -> throw new JsonParsingException("Unknown keyword: " + keyword, location());
+		}
+
+		state = nextState;
+	}
+
+	private void valueNumber(final State nextState, final char ch0) throws IOException {
+		numberLength = 0;
+		appendNumberChar(ch0);
+
+		final boolean negative = ch0 == '-';
+		int ch = ch0;
+		if (negative) {
+			ch = readChar();
+			if (ch < '0' || ch > '9')
+				throw new JsonParsingException("Not a number", location());
+			appendNumberChar((char) ch);
+		}
+
+		if (ch != '0')
+			readDigits();
+		final int intLength = numberLength;
+
+		long fractionDigits = 0;
+		ch = peekChar();
+		if (ch == '.') {
+			appendNumberChar(readChar());
+			fractionDigits = readDigits();
+			if (fractionDigits == 0)
+				throw new JsonParsingException("Not a number", location());
+			ch = peekChar();
+		}
+
+		long exponent = 0;
+		boolean hasExponent = false;
+		if (ch == 'e' || ch == 'E') {
+			hasExponent = true;
+			appendNumberChar(readChar());
+			ch = peekChar();
+			if (ch == '+' || ch == '-')
+				appendNumberChar(readChar());
+			final int expStart = numberLength;
+			if (readDigits() == 0)
+				throw new JsonParsingException("Not a number", location());
+			for (int i = expStart; i < numberLength && exponent <= Integer.MAX_VALUE; ++i)
+				exponent = exponent * 10 + (numberChars[i] - '0');
+			if (numberChars[expStart - 1] == '-')
+				exponent = -exponent;
+		}
+
+		numberScale = fractionDigits - exponent;
+		if (numberScale < Integer.MIN_VALUE || numberScale > Integer.MAX_VALUE)
+			throw new JsonParsingException("Number out of range", location());
+
+		numberIsLong = fractionDigits == 0 && !hasExponent && parseLong(negative, intLength);
+
+		state = nextState;
+		event = Event.VALUE_NUMBER;
+	}
+
+	private boolean parseLong(final boolean negative, final int end) {
+		final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		final long multmin = limit / 10;
+		long result = 0;
+		for (int i = negative ? 1 : 0; i < end; ++i) {
+			final int digit = numberChars[i] - '0';
+			if (result < multmin)
+				return false;
+			result *= 10;
+			if (result < limit + digit)
+				return false;
+			result -= digit;
+		}
+		numberLong = negative ? result : -result;
+		return true;
+	}
+
+	private void valueString(final State nextState) throws IOException {
+		stringView = parseString();
+		state = nextState;
+		event = Event.VALUE_STRING;
+	}
+
+	@Override
+	protected void addNumber(final MyrJsonTapeBuilder tape) {
+		if (numberLength != -1 && numberIsLong && numberValue == null)
+			tape.addLong(numberLong);
+		else
+			super.addNumber(tape);
+	}
+
+	@Override
+	protected JsonNumber getJsonNumber() {
+		if (numberLength != -1 && numberIsLong && numberValue == null)
+			return new MyrJsonNumber(numberLong);
+
+		if (context.isDoubleNumbers() && numberLength != -1) {
+			final MyrJsonDoubleNumber number = doubleNumber();
+			if (number != null)
+				return number;
+		}
+
+		return super.getJsonNumber();
+	}
+
+	@Override
+	protected boolean isInArray() {
+		return switch (state) {
+			case ARRAY_INIT, ARRAY_VALUE, ARRAY_COMMA -> true;
+			default -> false;
+		};
+	}
+
+	@Override
+	protected boolean isInObject() {
+		return switch (state) {
+			case OBJECT_INIT, OBJECT_KEY, OBJECT_VALUE, OBJECT_COMMA -> true;
+			default -> false;
+		};
+	}
+
+	private final class ArraySpliterator implements Spliterator<JsonValue> {
+		private long splitSize = MIN_SPLIT_SIZE;
+
+		private boolean done = false;
+
+		@Override
+		public int characteristics() {
+			return ORDERED | NONNULL;
+		}
+
+		@Override
+		public long estimateSize() {
+			return Long.MAX_VALUE;
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super JsonValue> action) {
+			if (done)
+				return false;
+			if (next() == Event.END_ARRAY) {
+				done = true;
+				return false;
+			}
+			action.accept(getValue());
+			return true;
+		}
+
+		@Override
+		public Spliterator<JsonValue> trySplit() {
+			if (done || !isSplittable())
+				return null;
+
+			final long[] range = splitElements(splitSize);
+			if (range == null)
+				return null;
+			splitSize = Math.min(splitSize * 2, MAX_SPLIT_SIZE);
+			return new RecordSpliterator(createSlice(range[0], range[1], baseDepth + stack.depth()), ',', true, false);
+		}
+	}
+
+	private static final class RecordSpliterator implements Spliterator<JsonValue> {
+		private final MyrJsonTextParser parser;
+
+		private final boolean splittable;
+
+		private char separator;
+
+		private boolean first;
+
+		private long splitSize = MIN_SPLIT_SIZE;
+
+		public RecordSpliterator(final MyrJsonTextParser parser, final char separator, final boolean first, final boolean splittable) {
+			this.parser = parser;
+			this.splittable = splittable;
+			this.separator = separator;
+			this.first = first;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | NONNULL;
+		}
+
+		@Override
+		public long estimateSize() {
+			return Long.MAX_VALUE;
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super JsonValue> action) {
+			detectSeparator();
+			if (!parser.startRecord(separator, first))
+				return false;
+			first = false;
+			action.accept(parser.readTree());
+			return true;
+		}
+
+		@Override
+		public Spliterator<JsonValue> trySplit() {
+			if (!splittable)
+				return null;
+
+			detectSeparator();
+			final long[] range = parser.splitRecords(splitSize, separator);
+			if (range == null)
+				return null;
+			splitSize = Math.min(splitSize * 2, MAX_SPLIT_SIZE);
+			final Spliterator<JsonValue> prefix = new RecordSpliterator(parser.createSlice(range[0], range[1], parser.baseDepth), separator, first, false);
+			first = false;
+			return prefix;
+		}
+
+		private void detectSeparator() {
+			if (separator != 0)
+				return;
+			try {
+				int ch = parser.peekChar();
+				while (ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t') {
+					parser.readChar();
+					ch = parser.peekChar();
+				}
+				separator = ch == RECORD_SEPARATOR ? RECORD_SEPARATOR : '\n';
+			} catch (final IOException ex) {
+				throw new JsonParsingException(ex.getMessage(), ex, parser.location());
+			}
+		}
+	}
+
+	private static final class LazySlices {
+		private long from = Long.MAX_VALUE;
+
+		private long to = -1;
+
+		private Slicer slicer;
+	}
+
+	static final class NeedMoreInput extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		static final NeedMoreInput INSTANCE = new NeedMoreInput();
+
+		private NeedMoreInput() {
+			super(null, null, false, false);
+		}
+	}
+
+	protected interface Slicer {
+		Slicer detach(long from, long to);
+
+		MyrJsonTextParser slice(long from, long to, int depth);
+	}
+
+	private enum State {
+		INIT, OBJECT_INIT, OBJECT_KEY, OBJECT_VALUE, OBJECT_COMMA, ARRAY_INIT, ARRAY_VALUE, ARRAY_COMMA, END
+	}
+}
@@ -0,0 +1,800 @@
+package se.narstrom.myr.json.parser;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+import jakarta.json.stream.JsonLocation;
+import jakarta.json.stream.JsonParser.Event;
+import jakarta.json.stream.JsonParsingException;
+import se.narstrom.myr.json.MyrJsonBufferRecycler;
+import se.narstrom.myr.json.MyrJsonContext;
+
+public final class MyrJsonUtf8Parser extends MyrJsonTextParser {
+	private Input in;
+
+	private final MyrJsonStructuralIndex index;
+
+	private final long origin;
+
+	private ByteBuffer buf = ByteBuffer.allocate(0);
+
+	private int buflen = 0;
+
+	private int bufp = 0;
+
+	private byte[] scratch = new byte[64];
+
+	private int scratchLen = 0;
+
+	private StringView view;
+
+	private long bufferOffset = 0;
+
+	private long countedOffset = 0;
+
+	private long lineNo;
+
+	private long columnNo;
+
+	private boolean needsInput = false;
+
+	public MyrJsonUtf8Parser(final InputStream in, final MyrJsonContext context) {
+		this(new StreamInput(in, context.getBufferRecycler()), context);
+	}
+
+	public MyrJsonUtf8Parser(final ByteBuffer buffer, final MyrJsonContext context) {
+		this(new BufferInput(buffer), context);
+	}
+
+	public MyrJsonUtf8Parser(final FileChannel channel, final MyrJsonContext context) throws IOException {
+		this(new MappedInput(channel), context);
+	}
+
+	public MyrJsonUtf8Parser(final MyrJsonContext context) {
+		this(new PushInput(), context);
+	}
+
+	private MyrJsonUtf8Parser(final Input in, final MyrJsonContext context) {
+		this(in, context, 0, 0);
+		this.lineNo = 1;
+		this.columnNo = 1;
+	}
+
+	private MyrJsonUtf8Parser(final Input in, final MyrJsonContext context, final long origin, final int depth) {
+		super(context, depth);
+		this.in = in;
+		this.index = context.isStructuralIndex() ? new MyrJsonStructuralIndex() : null;
+		this.origin = origin;
+		this.bufferOffset = origin;
+		this.countedOffset = origin;
+		this.lineNo = -1;
+		this.columnNo = -1;
+	}
+
+	public void reset(final ByteBuffer buffer) {
+		resetInput(new BufferInput(buffer));
+	}
+
+	public void reset(final InputStream in) {
+		resetInput(new StreamInput(in, context.getBufferRecycler()));
+	}
+
+	public void endOfInput() {
+		pushInput().ended = true;
+		needsInput = false;
+	}
+
+	public void feed(final ByteBuffer chunk) {
+		final PushInput push = pushInput();
+		if (push.ended)
+			throw new IllegalStateException("Input already ended");
+
+		detachString();
+		spillLines(bufferOffset + bufp);
+
+		final int remaining = buflen - bufp;
+		final int length = remaining + chunk.remaining();
+		final byte[] data = push.data.length < length ? new byte[Math.max(push.data.length * 2, length)] : push.data;
+		buf.get(bufp, data, 0, remaining);
+		chunk.get(data, remaining, chunk.remaining());
+		push.data = data;
+
+		bufferOffset += bufp;
+		buf = ByteBuffer.wrap(data, 0, length);
+		bufp = 0;
+		buflen = length;
+		if (index != null)
+			index.reset(buf, buflen);
+		needsInput = false;
+	}
+
+	public boolean needsInput() {
+		return needsInput;
+	}
+
+	@Override
+	public Event next() {
+		final long resumeOffset = position();
+		try {
+			return super.next();
+		} catch (final NeedMoreInput ex) {
+			rewind(resumeOffset);
+			throw new IllegalStateException("Incomplete input");
+		}
+	}
+
+	@Override
+	public void skipArray() {
+		final long resumeOffset = position();
+		try {
+			super.skipArray();
+		} catch (final NeedMoreInput ex) {
+			rewind(resumeOffset);
+			throw new IllegalStateException("Incomplete input");
+		}
+	}
+
+	@Override
+	public void skipObject() {
+		final long resumeOffset = position();
+		try {
+			super.skipObject();
+		} catch (final NeedMoreInput ex) {
+			rewind(resumeOffset);
+			throw new IllegalStateException("Incomplete input");
+		}
+	}
+
+	public Event tryNext() {
+		pushInput();
+		final long resumeOffset = position();
+		try {
+			needsInput = false;
+			return super.next();
+		} catch (final NeedMoreInput ex) {
+			rewind(resumeOffset);
+			needsInput = true;
+			return null;
+		}
+	}
+
+	private void appendEscape(final StringBuilder sb) throws IOException {
+		final char ch = readChar();
+		switch (ch) {
+			case '\"' -> sb.append('\"');
+			case '\\' -> sb.append('\\');
+			case '/' -> sb.append('/');
+			case 'b' -> sb.append('\b');
+			case 'f' -> sb.append('\f');
+			case 'n' -> sb.append('\n');
+			case 'r' -> sb.append('\r');
+			case 't' -> sb.append('\t');
+			case 'u' -> {
+				final char[] chs = new char[4];
+				for (int i = 0; i < 4; ++i)
+					chs[i] = readChar();
+				for (int i = 0; i < 4; ++i)
+					if (!isHexDigit(chs[i]))
+						throw new JsonParsingException("Invalid unicode escape sequence \"\\u" + new String(chs) + "\"", location());
+				sb.append((char) Integer.parseUnsignedInt(new String(chs), 16));
+			}
+			default -> throw new JsonParsingException("Unknown escape character " + ch, location());
+		}
+	}
+
+	private void appendScratch(final int from, final int to) {
+		final int len = to - from;
+		if (scratchLen + len > scratch.length)
+			scratch = Arrays.copyOf(scratch, Math.max(scratch.length * 2, scratchLen + len));
+		buf.get(from, scratch, scratchLen, len);
+		scratchLen += len;
+	}
+
+	private void checkUtf8(final byte[] bytes, final int off, final int len) {
+		final int end = off + len;
+		int i = off;
+		while (i < end) {
+			final int b0 = bytes[i++] & 0xFF;
+			if (b0 < 0x80)
+				continue;
+
+			final int count;
+			final int min;
+			if ((b0 & 0xE0) == 0xC0) {
+				count = 1;
+				min = 0x80;
+			} else if ((b0 & 0xF0) == 0xE0) {
+				count = 2;
+				min = 0x800;
+			} else if ((b0 & 0xF8) == 0xF0) {
+				count = 3;
+				min = 0x10000;
+			} else {
+				throw new JsonParsingException("Invalid UTF-8 sequence", location());
+			}
+
+			if (i + count > end)
+				throw new JsonParsingException("Invalid UTF-8 sequence", location());
+
+			int cp = b0 & (0x3F >> count);
+			for (int j = 0; j < count; ++j) {
+				final int b = bytes[i++] & 0xFF;
+				if ((b & 0xC0) != 0x80)
+					throw new JsonParsingException("Invalid UTF-8 sequence", location());
+				cp = (cp << 6) | (b & 0x3F);
+			}
+
+			if (cp < min || cp > Character.MAX_CODE_POINT || (cp >= Character.MIN_SURROGATE && cp <= Character.MAX_SURROGATE))
+				throw new JsonParsingException("Invalid UTF-8 sequence", location());
+		}
+	}
+
+	private void consumeTo(final int end) {
+		bufp = end;
+	}
+
+	private void countLines(final long end) {
+		if (lineNo == -1)
+			return;
+		final int from = (int) (countedOffset - bufferOffset);
+		final int to = (int) (end - bufferOffset);
+		int lineStart = from;
+		for (int i = from; i < to; ++i) {
+			if (buf.get(i) == '\n') {
+				++lineNo;
+				lineStart = i + 1;
+			}
+		}
+		if (lineStart != from)
+			columnNo = 1;
+		for (int i = lineStart; i < to; ++i) {
+			if ((buf.get(i) & 0xC0) != 0x80)
+				++columnNo;
+		}
+		countedOffset = end;
+	}
+
+	private String decode(final int from, final int to, final boolean ascii) {
+		final int len = to - from;
+		final byte[] bytes;
+		final int off;
+		if (buf.hasArray()) {
+			bytes = buf.array();
+			off = buf.arrayOffset() + from;
+		} else {
+			scratchLen = 0;
+			appendScratch(from, to);
+			bytes = scratch;
+			off = 0;
+		}
+
+		if (ascii)
+			return new String(bytes, off, len, StandardCharsets.ISO_8859_1);
+		checkUtf8(bytes, off, len);
+		return new String(bytes, off, len, StandardCharsets.UTF_8);
+	}
+
+	private boolean fill() throws IOException {
+		if (bufp < buflen)
+			return true;
+
+		if (in instanceof PushInput push && !push.ended)
+			throw NeedMoreInput.INSTANCE;
+
+		detachString();
+		spillLines(bufferOffset + buflen);
+		bufferOffset += buflen;
+		bufp = buflen = 0;
+
+		ByteBuffer next;
+		do {
+			next = in.read();
+		} while (next != null && !next.hasRemaining());
+
+		if (next == null)
+			return false;
+
+		buf = next;
+		bufp = 0;
+		buflen = next.limit();
+		if (index != null)
+			index.reset(buf, buflen);
+		return true;
+	}
+
+	private void flushScratch(final StringBuilder sb) {
+		checkUtf8(scratch, 0, scratchLen);
+		sb.append(new String(scratch, 0, scratchLen, StandardCharsets.UTF_8));
+		scratchLen = 0;
+	}
+
+	private boolean isHexDigit(final char ch) {
+		return ('0' <= ch && ch <= '9') || ('A' <= ch && ch <= 'F') || ('a' <= ch && ch <= 'f');
+	}
+
+	private CharSequence parseString(final MyrJsonSymbolTable symbols) throws IOException {
+		final int scan = scanString();
+		if (scan == -1)
+			return parseStringSlow();
+
+		final int end = scan >>> 1;
+		final CharSequence str;
+		if ((scan & 1) == 0) {
+			str = decode(bufp, end, false);
+		} else {
+			if (view == null)
+				view = new StringView();
+			view.symbols = symbols;
+			view.from = bufp;
+			view.to = end;
+			str = view;
+		}
+		consumeTo(end + 1);
+		return str;
+	}
+
+	private String parseStringSlow() throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		scratchLen = 0;
+		while (true) {
+			if (!fill())
+				throw new EOFException();
+
+			int i = bufp;
+			if (index != null) {
+				i = index.nextQuoteOrEscape(bufp);
+			} else {
+				while (i < buflen) {
+					final byte b = buf.get(i);
+					if (b == '"' || b == '\\')
+						break;
+					++i;
+				}
+			}
+			appendScratch(bufp, i);
+			consumeTo(i);
+
+			if (i == buflen)
+				continue;
+
+			final byte b = buf.get(i);
+			consumeTo(i + 1);
+			flushScratch(sb);
+			if (b == '"')
+				return sb.toString();
+			appendEscape(sb);
+		}
+	}
+
+	private int scanString() throws IOException {
+		if (!fill())
+			throw new EOFException();
+
+		if (index != null) {
+			final int end = index.nextQuoteOrEscape(bufp);
+			if (end < buflen && buf.get(end) == '"')
+				return end << 1 | (index.isAscii(bufp, end) ? 1 : 0);
+			return -1;
+		}
+
+		int bits = 0;
+		for (int i = bufp; i < buflen; ++i) {
+			final byte b = buf.get(i);
+			if (b == '"')
+				return i << 1 | (bits >= 0 ? 1 : 0);
+			if (b == '\\')
+				return -1;
+			bits |= b;
+		}
+		return -1;
+	}
+
+	private PushInput pushInput() {
+		if (!(in instanceof PushInput push))
+			throw new IllegalStateException("Not a push parser");
+		return push;
+	}
+
+	private void resetInput(final Input input) {
+		if (origin != 0)
+			throw new IllegalStateException("Cannot reset a slice parser");
+		try {
+			in.close();
+		} catch (final IOException ex) {
+			throw new JsonParsingException(ex.getMessage(), ex, location());
+		}
+		in = input;
+		buf = ByteBuffer.allocate(0);
+		buflen = 0;
+		bufp = 0;
+		bufferOffset = 0;
+		countedOffset = 0;
+		lineNo = 1;
+		columnNo = 1;
+		needsInput = false;
+		resetState();
+	}
+
+	private void rewind(final long offset) {
+		bufp = (int) (offset - bufferOffset);
+	}
+
+	private void spillLines(final long end) {
+		location();
+		countLines(end);
+	}
+
+	@Override
+	protected void closeInput() throws IOException {
+		in.close();
+	}
+
+	@Override
+	protected MyrJsonTextParser createSlice(final long from, final long to, final int depth) {
+		return new MyrJsonUtf8Parser(in.slice(from - origin, to - from), context, from, depth);
+	}
+
+	@Override
+	protected JsonLocation createLocation(final long offset) {
+		countLines(offset);
+		return new MyrJsonLocation(lineNo, columnNo, offset);
+	}
+
+	@Override
+	protected CharSequence parseKey() throws IOException {
+		return parseString(context.getSymbolTable());
+	}
+
+	@Override
+	protected CharSequence parseString() throws IOException {
+		return parseString(null);
+	}
+
+	@Override
+	protected boolean isSplittable() {
+		return in.isRandomAccess();
+	}
+
+	@Override
+	protected int peekChar() throws IOException {
+		if (!fill())
+			return -1;
+		return buf.get(bufp) & 0xFF;
+	}
+
+	@Override
+	protected long position() {
+		return bufferOffset + bufp;
+	}
+
+	@Override
+	protected char readChar() throws IOException {
+		if (!fill())
+			throw new EOFException();
+		final char ch = (char) (buf.get(bufp) & 0xFF);
+		consumeTo(bufp + 1);
+		return ch;
+	}
+
+	@Override
+	protected void seek(final long limit, final char delimiter) throws IOException {
+		while (fill()) {
+			bufp = (int) Math.max(bufp, Math.min(buflen, limit - bufferOffset));
+			for (; bufp < buflen; ++bufp) {
+				if (buf.get(bufp) == delimiter)
+					return;
+			}
+		}
+	}
+
+	@Override
+	protected void skipNested(final long limit, final MyrJsonSkipValidator validator) throws IOException {
+		int depth = 0;
+		boolean inString = false;
+		boolean escape = false;
+		while (true) {
+			if (!fill())
+				throw new EOFException();
+			while (bufp < buflen) {
+				if (inString && !escape && index != null) {
+					bufp = index.nextQuoteOrEscape(bufp);
+					if (bufp == buflen)
+						break;
+				}
+				final byte b = buf.get(bufp++);
+				if (inString) {
+					if (escape)
+						escape = false;
+					else if (b == '\\')
+						escape = true;
+					else if (b == '"')
+						inString = false;
+					continue;
+				}
+				if (validator != null && !validator.accept((char) (b & 0xFF))) {
+					--bufp;
+					throw unexpected((char) (b & 0xFF));
+				}
+				switch (b) {
+					case '"' -> inString = true;
+					case '[', '{' -> ++depth;
+					case ']', '}' -> {
+						if (depth-- == 0) {
+							--bufp;
+							return;
+						}
+					}
+					case ',' -> {
+						if (depth == 0 && bufferOffset + bufp > limit) {
+							--bufp;
+							return;
+						}
+					}
+					default -> {
+						/* Nothing */
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	protected void skipWhitespace() throws IOException {
+		while (true) {
+			if (!fill())
+				throw new EOFException();
+			if (index != null) {
+				bufp = index.nextNonWhitespace(bufp);
+				if (bufp < buflen)
+					return;
+				continue;
+			}
+			while (bufp < buflen) {
+				final byte b = buf.get(bufp);
+				if (b != ' ' && b != '\n' && b != '\r' && b != '\t')
+					return;
+
+				++bufp;
+			}
+		}
+	}
+
+	@Override
+	protected Slicer slicer() {
+		if (!(in instanceof BufferInput input))
+			return null;
+		return new BufferSlicer(input, origin, context);
+	}
+
+	private final class StringView implements CharSequence {
+		private MyrJsonSymbolTable symbols;
+
+		private int from;
+
+		private int to;
+
+		@Override
+		public char charAt(final int index) {
+			Objects.checkIndex(index, to - from);
+			return (char) buf.get(from + index);
+		}
+
+		@Override
+		public int length() {
+			return to - from;
+		}
+
+		@Override
+		public CharSequence subSequence(final int start, final int end) {
+			Objects.checkFromToIndex(start, end, to - from);
+			return decode(from + start, from + end, true);
+		}
+
+		@Override
+		public String toString() {
+			String str = symbols != null ? symbols.lookup(buf, from, to) : null;
+			if (str == null) {
+				str = decode(from, to, true);
+				if (symbols != null)
+					symbols.put(str);
+			}
+			return str;
+		}
+	}
+
+	private interface Input {
+		void close() throws IOException;
+
+		ByteBuffer read() throws IOException;
+
+		default boolean isRandomAccess() {
+			return false;
+		}
+
+		default Input slice(final long offset, final long length) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	private static final class BufferInput implements Input {
+		private final ByteBuffer source;
+
+		private final boolean owned;
+
+		private ByteBuffer buffer;
+
+		public BufferInput(final ByteBuffer buffer) {
+			this(buffer, false);
+		}
+
+		private BufferInput(final ByteBuffer buffer, final boolean owned) {
+			this.source = buffer.slice();
+			this.buffer = source;
+			this.owned = owned;
+		}
+
+		@Override
+		public void close() {
+			buffer = null;
+		}
+
+		public BufferInput copy() {
+			return new BufferInput(ByteBuffer.allocate(source.limit()).put(source.duplicate().rewind()).flip(), true);
+		}
+
+		@Override
+		public boolean isRandomAccess() {
+			return true;
+		}
+
+		public boolean isShared() {
+			return !owned && !source.isReadOnly();
+		}
+
+		@Override
+		public ByteBuffer read() {
+			final ByteBuffer result = buffer;
+			buffer = null;
+			return result;
+		}
+
+		@Override
+		public BufferInput slice(final long offset, final long length) {
+			return new BufferInput(source.slice((int) offset, (int) length), owned);
+		}
+	}
+
+	private static final class BufferSlicer implements Slicer {
+		private final BufferInput input;
+
+		private final long base;
+
+		private final MyrJsonContext context;
+
+		public BufferSlicer(final BufferInput input, final long base, final MyrJsonContext context) {
+			this.input = input;
+			this.base = base;
+			this.context = context;
+		}
+
+		@Override
+		public Slicer detach(final long from, final long to) {
+			if (!input.isShared())
+				return this;
+			return new BufferSlicer(input.slice(from - base, to - from).copy(), from, context);
+		}
+
+		@Override
+		public MyrJsonTextParser slice(final long from, final long to, final int depth) {
+			return new MyrJsonUtf8Parser(input.slice(from - base, to - from), context, from, depth);
+		}
+	}
+
+	private static final class MappedInput implements Input {
+		private static final long WINDOW_SIZE = 1L << 30;
+
+		private final FileChannel channel;
+
+		private final long origin;
+
+		private final long end;
+
+		private final boolean owner;
+
+		private long position;
+
+		public MappedInput(final FileChannel channel) throws IOException {
+			this(channel, channel.position(), channel.size(), true);
+		}
+
+		private MappedInput(final FileChannel channel, final long origin, final long end, final boolean owner) {
+			this.channel = channel;
+			this.origin = origin;
+			this.end = end;
+			this.owner = owner;
+			this.position = origin;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (owner)
+				channel.close();
+		}
+
+		@Override
+		public boolean isRandomAccess() {
+			return true;
+		}
+
+		@Override
+		public ByteBuffer read() throws IOException {
+			if (position >= end)
+				return null;
+
+			final long len = Math.min(WINDOW_SIZE, end - position);
+			final ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, len);
+			position += len;
+			return window;
+		}
+
+		@Override
+		public Input slice(final long offset, final long length) {
+			return new MappedInput(channel, origin + offset, origin + offset + length, false);
+		}
+	}
+
+	private static final class PushInput implements Input {
+		private byte[] data = new byte[0];
+
+		private boolean ended = false;
+
+		@Override
+		public void close() {
+			data = null;
+		}
+
+		@Override
+		public ByteBuffer read() {
+			return null;
+		}
+	}
+
+	private static final class StreamInput implements Input {
+		private final InputStream in;
+
+		private final MyrJsonBufferRecycler recycler;
+
+		private ByteBuffer buffer;
+
+		public StreamInput(final InputStream in, final MyrJsonBufferRecycler recycler) {
+			this.in = in;
+			this.recycler = recycler;
+			this.buffer = ByteBuffer.wrap(recycler.acquireBytes());
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				in.close();
+			} finally {
+				if (buffer != null)
+					recycler.releaseBytes(buffer.array());
+				buffer = null;
+			}
+		}
+
+		@Override
+		public ByteBuffer read() throws IOException {
+			final int n = in.read(buffer.array());
+			if (n == -1)
+				return null;
+			return buffer.clear().limit(n);
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package se.narstrom.myr.json.parser;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+final class MyrJsonVectorClassifier implements MyrJsonStructuralIndex.Classifier {
+	private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED.length() <= 64 ? ByteVector.SPECIES_PREFERRED : ByteVector.SPECIES_512;
+
+	private MyrJsonVectorClassifier() {
+	}
+
+	static MyrJsonStructuralIndex.Classifier create() {
+		if (SPECIES.length() < 16)
+			return MyrJsonStructuralIndex.Classifier.SCALAR;
+		return new MyrJsonVectorClassifier();
+	}
+
+	@Override
+	public int classify(final byte[] bytes, final int off, final int len, final long[] nonWhitespace, final long[] quotesAndEscapes, final long[] nonAscii) {
+		final int step = SPECIES.length();
+		int i = 0;
+		for (; i + 64 <= len; i += 64) {
+			long ws = 0;
+			long qe = 0;
+			long na = 0;
+			for (int j = 0; j < 64; j += step) {
+				final ByteVector v = ByteVector.fromArray(SPECIES, bytes, off + i + j);
+				final VectorMask<Byte> space = v.eq((byte) ' ').or(v.eq((byte) '\n')).or(v.eq((byte) '\r')).or(v.eq((byte) '\t'));
+				ws |= space.not().toLong() << j;
+				qe |= v.eq((byte) '"').or(v.eq((byte) '\\')).toLong() << j;
+				na |= v.compare(VectorOperators.LT, (byte) 0).toLong() << j;
+			}
+			nonWhitespace[i >>> 6] = ws;
+			quotesAndEscapes[i >>> 6] = qe;
+			nonAscii[i >>> 6] = na;
+		}
+		return i;
+	}
+}
@@ -15,7 +15,10 @@ import jakarta.json.JsonPointer;
 import jakarta.json.JsonStructure;
 import jakarta.json.JsonValue;
 import jakarta.json.JsonValue.ValueType;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
 import se.narstrom.myr.json.MyrJsonContext;
+import se.narstrom.myr.json.parser.MyrJsonTextParser;
 
 public final class MyrJsonPointer implements JsonPointer {
 	private static final Pattern PATTERN_INDEX = Pattern.compile("(0|[1-9][0-9]*)");
@@ -51,6 +54,14 @@ public final class MyrJsonPointer implements JsonPointer {
 		return value;
 	}
 
+	public JsonValue getValue(final JsonParser parser) {
+		Objects.requireNonNull(parser);
+		final JsonValue value = resolve(parser);
+		if (value == null)
+			throw new JsonException("Path: cannot find " + this);
+		return value;
+	}
+
 	@Override
 	public <T extends JsonStructure> T remove(final T target) {
 		if(path.isEmpty())
@@ -244,7 +255,62 @@ public final class MyrJsonPointer implements JsonPointer {
 		return val;
 	}
 
-	private static List<String> parse(final String pointer) {
+	private JsonValue resolve(final JsonParser parser) {
+		Event event = parser.currentEvent() == null ? parser.next() : parser.currentEvent();
+		for (final String key : path) {
+			event = switch (event) {
+				case START_ARRAY -> seekIndex(parser, key);
+				case START_OBJECT -> seekKey(parser, key);
+				default -> null;
+			};
+			if (event == null)
+				return null;
+		}
+		return parser.getValue();
+	}
+
+	private static boolean isKey(final JsonParser parser, final String key) {
+		if (parser instanceof MyrJsonTextParser textParser)
+			return textParser.contentEquals(key);
+		return parser.getString().equals(key);
+	}
+
+	private static Event seekIndex(final JsonParser parser, final String key) {
+		if (!PATTERN_INDEX.matcher(key).matches())
+			return null;
+		final int index = Integer.parseInt(key);
+		for (int i = 0;; ++i) {
+			final Event event = parser.next();
+			if (event == Event.END_ARRAY)
+				return null;
+			if (i == index)
+				return event;
+			skipValue(parser, event);
+		}
+	}
+
+	private static Event seekKey(final JsonParser parser, final String key) {
+		while (parser.next() != Event.END_OBJECT) {
+			final boolean found = isKey(parser, key);
+			final Event event = parser.next();
+			if (found)
+				return event;
+			skipValue(parser, event);
+		}
+		return null;
+	}
+
+	private static void skipValue(final JsonParser parser, final Event event) {
+		switch (event) {
+			case START_ARRAY -> parser.skipArray();
+			case START_OBJECT -> parser.skipObject();
+			default -> {
+				/* Nothing */
+			}
+		}
+	}
+
+	public static List<String> parse(final String pointer) {
 		if (pointer.isEmpty())
 			return List.of();
 
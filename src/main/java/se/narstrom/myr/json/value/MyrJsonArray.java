@@ -11,10 +11,14 @@ import jakarta.json.JsonString;
 import jakarta.json.JsonValue;
 
 public final class MyrJsonArray extends AbstractList<JsonValue> implements JsonArray {
-	private JsonValue[] array;
+	private final JsonValue[] array;
 
 	MyrJsonArray(final List<JsonValue> list) {
-		this.array = list.toArray(JsonValue[]::new);
+		this(list.toArray(JsonValue[]::new));
+	}
+
+	MyrJsonArray(final JsonValue[] array) {
+		this.array = array;
 	}
 
 	@Override
@@ -0,0 +1,109 @@
+package se.narstrom.myr.json.value;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import jakarta.json.JsonNumber;
+
+public final class MyrJsonDoubleNumber implements JsonNumber {
+	private static final long[] POWERS_OF_TEN = { 1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L };
+
+	private final double value;
+
+	private final long unscaled;
+
+	private final int scale;
+
+	public MyrJsonDoubleNumber(final double value, final long unscaled, final int scale) {
+		if (!Double.isFinite(value) || unscaled == Long.MIN_VALUE)
+			throw new NumberFormatException();
+		this.value = value;
+		this.unscaled = unscaled;
+		this.scale = scale;
+	}
+
+	@Override
+	public BigDecimal bigDecimalValue() {
+		return BigDecimal.valueOf(unscaled, scale);
+	}
+
+	@Override
+	public BigInteger bigIntegerValue() {
+		return bigDecimalValue().toBigInteger();
+	}
+
+	@Override
+	public BigInteger bigIntegerValueExact() {
+		return bigDecimalValue().toBigIntegerExact();
+	}
+
+	@Override
+	public double doubleValue() {
+		return value;
+	}
+
+	@Override
+	public boolean equals(final Object otherObject) {
+		if (otherObject instanceof MyrJsonDoubleNumber other && scale == other.scale)
+			return unscaled == other.unscaled;
+		return (otherObject instanceof JsonNumber other) && bigDecimalValue().compareTo(other.bigDecimalValue()) == 0;
+	}
+
+	@Override
+	public ValueType getValueType() {
+		return ValueType.NUMBER;
+	}
+
+	@Override
+	public int hashCode() {
+		final long magnitude = Math.abs(unscaled);
+		final int hash = (int) ((int) (magnitude >>> 32) * 31 + (magnitude & 0xFFFFFFFFL));
+		return 31 * (unscaled < 0 ? -hash : hash) + scale;
+	}
+
+	@Override
+	public int intValue() {
+		return (int) longValue();
+	}
+
+	@Override
+	public int intValueExact() {
+		if (scale == 0)
+			return Math.toIntExact(unscaled);
+		return bigDecimalValue().intValueExact();
+	}
+
+	@Override
+	public boolean isIntegral() {
+		return scale == 0;
+	}
+
+	@Override
+	public long longValue() {
+		if (scale == 0)
+			return unscaled;
+		if (scale > 0)
+			return scale < POWERS_OF_TEN.length ? unscaled / POWERS_OF_TEN[scale] : 0;
+		return bigDecimalValue().longValue();
+	}
+
+	@Override
+	public long longValueExact() {
+		if (scale == 0)
+			return unscaled;
+		return bigDecimalValue().longValueExact();
+	}
+
+	@Override
+	public String toString() {
+		return bigDecimalValue().toString();
+	}
+
+	int scale() {
+		return scale;
+	}
+
+	long unscaled() {
+		return unscaled;
+	}
+}
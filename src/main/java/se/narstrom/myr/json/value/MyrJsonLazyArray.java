@@ -0,0 +1,129 @@
+package se.narstrom.myr.json.value;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+
+public final class MyrJsonLazyArray extends AbstractList<JsonValue> implements JsonArray {
+	private Supplier<JsonValue> loader;
+
+	private volatile JsonArray array = null;
+
+	public MyrJsonLazyArray(final Supplier<JsonValue> loader) {
+		this.loader = loader;
+	}
+
+	@Override
+	public boolean equals(final Object other) {
+		return array().equals(other);
+	}
+
+	@Override
+	public JsonValue get(final int index) {
+		return array().get(index);
+	}
+
+	@Override
+	public boolean getBoolean(final int index) {
+		return array().getBoolean(index);
+	}
+
+	@Override
+	public boolean getBoolean(final int index, final boolean defaultValue) {
+		return array().getBoolean(index, defaultValue);
+	}
+
+	@Override
+	public int getInt(final int index) {
+		return array().getInt(index);
+	}
+
+	@Override
+	public int getInt(final int index, final int defaultValue) {
+		return array().getInt(index, defaultValue);
+	}
+
+	@Override
+	public JsonArray getJsonArray(final int index) {
+		return array().getJsonArray(index);
+	}
+
+	@Override
+	public JsonNumber getJsonNumber(final int index) {
+		return array().getJsonNumber(index);
+	}
+
+	@Override
+	public JsonObject getJsonObject(final int index) {
+		return array().getJsonObject(index);
+	}
+
+	@Override
+	public JsonString getJsonString(final int index) {
+		return array().getJsonString(index);
+	}
+
+	@Override
+	public String getString(final int index) {
+		return array().getString(index);
+	}
+
+	@Override
+	public String getString(final int index, final String defaultValue) {
+		return array().getString(index, defaultValue);
+	}
+
+	@Override
+	public <T extends JsonValue> List<T> getValuesAs(final Class<T> clazz) {
+		return array().getValuesAs(clazz);
+	}
+
+	@Override
+	public ValueType getValueType() {
+		return ValueType.ARRAY;
+	}
+
+	@Override
+	public int hashCode() {
+		return array().hashCode();
+	}
+
+	public boolean isLoaded() {
+		return array != null;
+	}
+
+	@Override
+	public boolean isNull(final int index) {
+		return array().isNull(index);
+	}
+
+	@Override
+	public int size() {
+		return array().size();
+	}
+
+	@Override
+	public String toString() {
+		return array().toString();
+	}
+
+	private JsonArray array() {
+		JsonArray result = array;
+		if (result == null) {
+			synchronized (this) {
+				result = array;
+				if (result == null) {
+					array = result = (JsonArray) loader.get();
+					loader = null;
+				}
+			}
+		}
+		return result;
+	}
+}
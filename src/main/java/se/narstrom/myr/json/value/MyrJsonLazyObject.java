@@ -0,0 +1,139 @@
+package se.narstrom.myr.json.value;
+
+import java.util.AbstractMap;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+
+public final class MyrJsonLazyObject extends AbstractMap<String, JsonValue> implements JsonObject {
+	private Supplier<JsonValue> loader;
+
+	private volatile JsonObject object = null;
+
+	public MyrJsonLazyObject(final Supplier<JsonValue> loader) {
+		this.loader = loader;
+	}
+
+	@Override
+	public boolean containsKey(final Object key) {
+		return object().containsKey(key);
+	}
+
+	@Override
+	public Set<Entry<String, JsonValue>> entrySet() {
+		return object().entrySet();
+	}
+
+	@Override
+	public boolean equals(final Object other) {
+		return object().equals(other);
+	}
+
+	@Override
+	public JsonValue get(final Object key) {
+		return object().get(key);
+	}
+
+	@Override
+	public boolean getBoolean(final String name) {
+		return object().getBoolean(name);
+	}
+
+	@Override
+	public boolean getBoolean(final String name, final boolean defaultValue) {
+		return object().getBoolean(name, defaultValue);
+	}
+
+	@Override
+	public int getInt(final String name) {
+		return object().getInt(name);
+	}
+
+	@Override
+	public int getInt(final String name, final int defaultValue) {
+		return object().getInt(name, defaultValue);
+	}
+
+	@Override
+	public JsonArray getJsonArray(final String name) {
+		return object().getJsonArray(name);
+	}
+
+	@Override
+	public JsonNumber getJsonNumber(final String name) {
+		return object().getJsonNumber(name);
+	}
+
+	@Override
+	public JsonObject getJsonObject(final String name) {
+		return object().getJsonObject(name);
+	}
+
+	@Override
+	public JsonString getJsonString(final String name) {
+		return object().getJsonString(name);
+	}
+
+	@Override
+	public String getString(final String name) {
+		return object().getString(name);
+	}
+
+	@Override
+	public String getString(final String name, final String defaultValue) {
+		return object().getString(name, defaultValue);
+	}
+
+	@Override
+	public ValueType getValueType() {
+		return ValueType.OBJECT;
+	}
+
+	@Override
+	public int hashCode() {
+		return object().hashCode();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return object().isEmpty();
+	}
+
+	public boolean isLoaded() {
+		return object != null;
+	}
+
+	@Override
+	public boolean isNull(final String name) {
+		return object().isNull(name);
+	}
+
+	@Override
+	public int size() {
+		return object().size();
+	}
+
+	@Override
+	public String toString() {
+		return object().toString();
+	}
+
+	private JsonObject object() {
+		JsonObject result = object;
+		if (result == null) {
+			synchronized (this) {
+				result = object;
+				if (result == null) {
+					object = result = (JsonObject) loader.get();
+					loader = null;
+				}
+			}
+		}
+		return result;
+	}
+}
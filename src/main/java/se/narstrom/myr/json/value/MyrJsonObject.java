@@ -1,34 +1,90 @@
 package se.narstrom.myr.json.value;
 
 import java.util.AbstractMap;
-import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
 
 import jakarta.json.JsonArray;
+import jakarta.json.JsonConfig.KeyStrategy;
+import jakarta.json.JsonException;
 import jakarta.json.JsonNumber;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonString;
 import jakarta.json.JsonValue;
 
 public final class MyrJsonObject extends AbstractMap<String, JsonValue> implements JsonObject {
-	private final Map<String, JsonValue> map;
+	private final MyrJsonShape shape;
 
-	MyrJsonObject(final Map<String, JsonValue> map) {
-		this.map = Collections.unmodifiableMap(new LinkedHashMap<>(map));
+	private final JsonValue[] values;
+
+	MyrJsonObject(final MyrJsonShape shape, final JsonValue[] values) {
+		this.shape = shape;
+		this.values = values;
+	}
+
+	static MyrJsonObject of(final String[] keys, final JsonValue[] values, final int from, final int to, final KeyStrategy keyStrategy, final MyrJsonShapeCache shapes) {
+		final MyrJsonShape cached = shapes.lookup(keys, from, to);
+		if (cached != null)
+			return new MyrJsonObject(cached, Arrays.copyOfRange(values, from, to));
+
+		final int size = to - from;
+		final String[] uniqueKeys = new String[size];
+		JsonValue[] uniqueValues = new JsonValue[size];
+		final int[] index = size > MyrJsonShape.INDEX_THRESHOLD ? new int[MyrJsonShape.tableSize(size)] : null;
+		int count = 0;
+		for (int i = from; i < to; ++i) {
+			final String key = keys[i];
+			final int existing = index != null ? MyrJsonShape.find(index, uniqueKeys, key) : MyrJsonShape.scan(uniqueKeys, count, key);
+			if (existing == -1) {
+				uniqueKeys[count] = key;
+				uniqueValues[count] = values[i];
+				if (index != null)
+					MyrJsonShape.insert(index, uniqueKeys, count);
+				++count;
+				continue;
+			}
+			switch (keyStrategy) {
+				case FIRST -> {
+					/* Nothing */
+				}
+				case LAST -> uniqueValues[existing] = values[i];
+				case NONE -> throw new JsonException("Duplicate key '" + key + "'");
+			}
+		}
+		if (count != size)
+			uniqueValues = Arrays.copyOf(uniqueValues, count);
+		return new MyrJsonObject(shapes.shape(uniqueKeys, 0, count), uniqueValues);
+	}
+
+	@Override
+	public void clear() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean containsKey(final Object key) {
+		return key instanceof String name && shape.position(name) != -1;
 	}
 
 	@Override
 	public Set<Entry<String, JsonValue>> entrySet() {
-		return map.entrySet();
+		return new EntrySet();
+	}
+
+	@Override
+	public JsonValue get(final Object key) {
+		return key instanceof String name ? value(name) : null;
 	}
 
 	@Override
 	public boolean getBoolean(final String name) {
 		Objects.requireNonNull(name);
-		final JsonValue value = map.get(name);
+		final JsonValue value = value(name);
 		return switch (value) {
 			case JsonValue val when val == JsonValue.TRUE -> true;
 			case JsonValue val when val == JsonValue.FALSE -> false;
@@ -40,7 +96,7 @@ public final class MyrJsonObject extends AbstractMap<String, JsonValue> implemen
 	@Override
 	public boolean getBoolean(final String name, final boolean defaultValue) {
 		Objects.requireNonNull(name);
-		final JsonValue value = map.get(name);
+		final JsonValue value = value(name);
 		return switch(value) {
 			case JsonValue val when val == JsonValue.TRUE -> true;
 			case JsonValue val when val == JsonValue.FALSE -> false;
@@ -57,7 +113,7 @@ public final class MyrJsonObject extends AbstractMap<String, JsonValue> implemen
 	@Override
 	public int getInt(final String name, final int defaultValue) {
 		Objects.requireNonNull(name);
-		final JsonValue value = map.get(name);
+		final JsonValue value = value(name);
 		if (value == null || value.getValueType() != ValueType.NUMBER)
 			return defaultValue;
 		return ((JsonNumber) value).intValue();
@@ -66,25 +122,29 @@ public final class MyrJsonObject extends AbstractMap<String, JsonValue> implemen
 	@Override
 	public JsonArray getJsonArray(final String name) {
 		Objects.requireNonNull(name);
-		return (JsonArray) map.get(name);
+		return (JsonArray) value(name);
 	}
 
 	@Override
 	public JsonNumber getJsonNumber(final String name) {
 		Objects.requireNonNull(name);
-		return (JsonNumber) map.get(name);
+		return (JsonNumber) value(name);
 	}
 
 	@Override
 	public JsonObject getJsonObject(final String name) {
 		Objects.requireNonNull(name);
-		return (JsonObject) map.get(name);
+		return (JsonObject) value(name);
 	}
 
 	@Override
 	public JsonString getJsonString(final String name) {
 		Objects.requireNonNull(name);
-		return (JsonString) map.get(name);
+		return (JsonString) value(name);
+	}
+
+	public MyrJsonShape getShape() {
+		return shape;
 	}
 
 	@Override
@@ -96,7 +156,7 @@ public final class MyrJsonObject extends AbstractMap<String, JsonValue> implemen
 	@Override
 	public String getString(final String name, final String defaultValue) {
 		Objects.requireNonNull(name);
-		final JsonValue value = map.get(name);
+		final JsonValue value = value(name);
 		if (value == null || value.getValueType() != ValueType.STRING)
 			return defaultValue;
 		return ((JsonString) value).getString();
@@ -107,12 +167,62 @@ public final class MyrJsonObject extends AbstractMap<String, JsonValue> implemen
 		return ValueType.OBJECT;
 	}
 
+	@Override
+	public boolean isEmpty() {
+		return values.length == 0;
+	}
+
 	@Override
 	public boolean isNull(final String name) {
 		Objects.requireNonNull(name);
-		final JsonValue value = map.get(name);
+		final JsonValue value = value(name);
 		if (value == null)
 			throw new NullPointerException();
 		return value == JsonValue.NULL;
 	}
+
+	@Override
+	public JsonValue remove(final Object key) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int size() {
+		return values.length;
+	}
+
+	private JsonValue value(final String name) {
+		final int position = shape.position(name);
+		return position != -1 ? values[position] : null;
+	}
+
+	private final class EntrySet extends AbstractSet<Entry<String, JsonValue>> {
+		@Override
+		public Iterator<Entry<String, JsonValue>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return values.length;
+		}
+	}
+
+	private final class EntryIterator implements Iterator<Entry<String, JsonValue>> {
+		private int position = 0;
+
+		@Override
+		public boolean hasNext() {
+			return position < values.length;
+		}
+
+		@Override
+		public Entry<String, JsonValue> next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			final Entry<String, JsonValue> entry = Map.entry(shape.key(position), values[position]);
+			++position;
+			return entry;
+		}
+	}
 }
@@ -98,7 +98,8 @@ public final class MyrJsonObjectBuilder implements JsonObjectBuilder {
 
 	@Override
 	public JsonObject build() {
-		final JsonObject obj = new MyrJsonObject(map);
+		final String[] keys = map.keySet().toArray(String[]::new);
+		final JsonObject obj = new MyrJsonObject(context.getShapeCache().shape(keys, 0, keys.length), map.values().toArray(JsonValue[]::new));
 		map.clear();
 		return obj;
 	}
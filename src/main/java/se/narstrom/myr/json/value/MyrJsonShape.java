@@ -0,0 +1,85 @@
+package se.narstrom.myr.json.value;
+
+public final class MyrJsonShape {
+	static final int INDEX_THRESHOLD = 8;
+
+	private final String[] keys;
+
+	private final int[] index;
+
+	private final int hash;
+
+	MyrJsonShape(final String[] keys, final int hash) {
+		this.keys = keys;
+		this.hash = hash;
+		this.index = keys.length > INDEX_THRESHOLD ? new int[tableSize(keys.length)] : null;
+		if (index != null) {
+			for (int i = 0; i < keys.length; ++i)
+				insert(index, keys, i);
+		}
+	}
+
+	public String key(final int position) {
+		return keys[position];
+	}
+
+	public int position(final String key) {
+		return index != null ? find(index, keys, key) : scan(keys, keys.length, key);
+	}
+
+	public int size() {
+		return keys.length;
+	}
+
+	boolean matches(final String[] otherKeys, final int from, final int to, final int otherHash) {
+		if (hash != otherHash || keys.length != to - from)
+			return false;
+		for (int i = 0; i < keys.length; ++i) {
+			final String key = otherKeys[from + i];
+			if (keys[i] != key && !keys[i].equals(key))
+				return false;
+		}
+		return true;
+	}
+
+	static int find(final int[] index, final String[] keys, final String key) {
+		final int mask = index.length - 1;
+		for (int slot = spread(key.hashCode()) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+			final int position = index[slot] - 1;
+			if (keys[position].equals(key))
+				return position;
+		}
+		return -1;
+	}
+
+	static int hash(final String[] keys, final int from, final int to) {
+		int hash = 1;
+		for (int i = from; i < to; ++i)
+			hash = 31 * hash + keys[i].hashCode();
+		return hash;
+	}
+
+	static void insert(final int[] index, final String[] keys, final int position) {
+		final int mask = index.length - 1;
+		int slot = spread(keys[position].hashCode()) & mask;
+		while (index[slot] != 0)
+			slot = (slot + 1) & mask;
+		index[slot] = position + 1;
+	}
+
+	static int scan(final String[] keys, final int size, final String key) {
+		for (int i = 0; i < size; ++i) {
+			if (keys[i].equals(key))
+				return i;
+		}
+		return -1;
+	}
+
+	static int spread(final int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	static int tableSize(final int size) {
+		return Integer.highestOneBit(size * 4 - 1);
+	}
+}
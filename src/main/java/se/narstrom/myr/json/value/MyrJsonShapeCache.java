@@ -0,0 +1,40 @@
+package se.narstrom.myr.json.value;
+
+import java.util.Arrays;
+
+public final class MyrJsonShapeCache {
+	private static final int MAX_SHAPE_SIZE = 64;
+
+	private final MyrJsonShape[] shapes;
+
+	private final int mask;
+
+	public MyrJsonShapeCache(final int size) {
+		final int capacity = Integer.highestOneBit(Math.max(size, 1) * 2 - 1);
+		this.shapes = new MyrJsonShape[capacity];
+		this.mask = capacity - 1;
+	}
+
+	public MyrJsonShape lookup(final String[] keys, final int from, final int to) {
+		if (to - from > MAX_SHAPE_SIZE)
+			return null;
+		final int hash = MyrJsonShape.hash(keys, from, to);
+		final MyrJsonShape shape = shapes[MyrJsonShape.spread(hash) & mask];
+		return shape != null && shape.matches(keys, from, to, hash) ? shape : null;
+	}
+
+	public MyrJsonShape shape(final String[] keys, final int from, final int to) {
+		final int hash = MyrJsonShape.hash(keys, from, to);
+		if (to - from > MAX_SHAPE_SIZE)
+			return new MyrJsonShape(Arrays.copyOfRange(keys, from, to), hash);
+
+		final int slot = MyrJsonShape.spread(hash) & mask;
+		final MyrJsonShape cached = shapes[slot];
+		if (cached != null && cached.matches(keys, from, to, hash))
+			return cached;
+
+		final MyrJsonShape shape = new MyrJsonShape(Arrays.copyOfRange(keys, from, to), hash);
+		shapes[slot] = shape;
+		return shape;
+	}
+}
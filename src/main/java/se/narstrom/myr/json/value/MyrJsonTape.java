@@ -0,0 +1,216 @@
+package se.narstrom.myr.json.value;
+
+import java.math.BigDecimal;
+import java.nio.CharBuffer;
+
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonValue;
+import jakarta.json.JsonValue.ValueType;
+import se.narstrom.myr.json.MyrJsonContext;
+
+public final class MyrJsonTape {
+	static final int OBJECT = 1;
+
+	static final int ARRAY = 2;
+
+	static final int END = 3;
+
+	static final int STRING = 4;
+
+	static final int LONG = 6;
+
+	static final int DOUBLE = 7;
+
+	static final int DECIMAL = 8;
+
+	static final int TRUE = 9;
+
+	static final int FALSE = 10;
+
+	static final int NULL = 11;
+
+	static final int MAX_SIZE = 0xFFFFFF;
+
+	private static final long PAYLOAD_MASK = (1L << 56) - 1;
+
+	private final long[] tape;
+
+	private final char[] arena;
+
+	MyrJsonTape(final long[] tape, final char[] arena) {
+		this.tape = tape;
+		this.arena = arena;
+	}
+
+	public static MyrJsonTape of(final JsonValue value, final MyrJsonContext context) {
+		final MyrJsonTapeBuilder builder = new MyrJsonTapeBuilder(context);
+		builder.add(value);
+		return builder.build();
+	}
+
+	public boolean contentEquals(final int index, final CharSequence other) {
+		final int offset = stringOffset(index);
+		final int len = stringLength(offset);
+		if (other.length() != len)
+			return false;
+		for (int i = 0; i < len; ++i) {
+			if (arena[offset + 2 + i] != other.charAt(i))
+				return false;
+		}
+		return true;
+	}
+
+	public int element(final int array, final int position) {
+		if (position < 0)
+			return -1;
+		final int end = end(array);
+		int index = array + 1;
+		for (int i = 0; i < position && index != end; ++i)
+			index = next(index);
+		return index != end ? index : -1;
+	}
+
+	public int end(final int index) {
+		final int tag = tag(index);
+		if (tag != OBJECT && tag != ARRAY)
+			throw new IllegalArgumentException("Not a container");
+		return (int) tape[index];
+	}
+
+	public int find(final int object, final CharSequence key) {
+		final int end = end(object);
+		for (int index = object + 1; index != end; index = next(index + 1)) {
+			if (tag(index) == STRING && contentEquals(index, key))
+				return index + 1;
+		}
+		return -1;
+	}
+
+	public CharSequence getChars(final int index) {
+		final int offset = stringOffset(index);
+		return CharBuffer.wrap(arena, offset + 2, stringLength(offset)).asReadOnlyBuffer();
+	}
+
+	public long getLong(final int index) {
+		if (tag(index) != LONG)
+			throw new IllegalArgumentException("Not a long");
+		return tape[index + 1];
+	}
+
+	public JsonNumber getNumber(final int index) {
+		return switch (tag(index)) {
+			case LONG -> new MyrJsonNumber(tape[index + 1]);
+			case DOUBLE -> new MyrJsonDoubleNumber(Double.longBitsToDouble(tape[index + 2]), tape[index + 1], (int) payload(tape[index]));
+			case DECIMAL -> new MyrJsonNumber(new BigDecimal(arena, stringOffset(index) + 2, stringLength(stringOffset(index))));
+			default -> throw new IllegalArgumentException("Not a number");
+		};
+	}
+
+	public String getString(final int index) {
+		final int offset = stringOffset(index);
+		return new String(arena, offset + 2, stringLength(offset));
+	}
+
+	public JsonValue getValue() {
+		return getValue(0);
+	}
+
+	public JsonValue getValue(final int index) {
+		return switch (tag(index)) {
+			case OBJECT -> new MyrJsonTapeObject(this, index);
+			case ARRAY -> new MyrJsonTapeArray(this, index);
+			case STRING -> new MyrJsonString(getString(index));
+			case LONG, DOUBLE, DECIMAL -> getNumber(index);
+			case TRUE -> JsonValue.TRUE;
+			case FALSE -> JsonValue.FALSE;
+			case NULL -> JsonValue.NULL;
+			default -> throw new IllegalArgumentException("Not a value");
+		};
+	}
+
+	public ValueType getValueType(final int index) {
+		return switch (tag(index)) {
+			case OBJECT -> ValueType.OBJECT;
+			case ARRAY -> ValueType.ARRAY;
+			case STRING -> ValueType.STRING;
+			case LONG, DOUBLE, DECIMAL -> ValueType.NUMBER;
+			case TRUE -> ValueType.TRUE;
+			case FALSE -> ValueType.FALSE;
+			case NULL -> ValueType.NULL;
+			default -> throw new IllegalArgumentException("Not a value");
+		};
+	}
+
+	public int hash(final int index) {
+		final int offset = stringOffset(index);
+		final int len = stringLength(offset);
+		int hash = 0;
+		for (int i = 0; i < len; ++i)
+			hash = 31 * hash + arena[offset + 2 + i];
+		return hash;
+	}
+
+	public boolean isEnd(final int index) {
+		return tag(index) == END;
+	}
+
+	public boolean isLong(final int index) {
+		return tag(index) == LONG;
+	}
+
+	public int next(final int index) {
+		return next(tape, index);
+	}
+
+	public int size(final int index) {
+		final int size = (int) (payload(tape[index]) >>> 32);
+		if (size != MAX_SIZE)
+			return size;
+
+		final boolean object = tag(index) == OBJECT;
+		final int end = end(index);
+		int count = 0;
+		for (int i = index + 1; i != end; i = next(i)) {
+			if (object)
+				i = i + 1;
+			++count;
+		}
+		return count;
+	}
+
+	int tag(final int index) {
+		return tag(tape[index]);
+	}
+
+	static long entry(final int tag, final long payload) {
+		return (long) tag << 56 | payload;
+	}
+
+	static int next(final long[] tape, final int index) {
+		return switch (tag(tape[index])) {
+			case OBJECT, ARRAY -> (int) tape[index] + 1;
+			case LONG -> index + 2;
+			case DOUBLE -> index + 3;
+			default -> index + 1;
+		};
+	}
+
+	static long payload(final long entry) {
+		return entry & PAYLOAD_MASK;
+	}
+
+	static int tag(final long entry) {
+		return (int) (entry >>> 56);
+	}
+
+	private int stringLength(final int offset) {
+		return arena[offset] << 16 | arena[offset + 1];
+	}
+
+	private int stringOffset(final int index) {
+		final int tag = tag(index);
+		if (tag != STRING && tag != DECIMAL)
+			throw new IllegalArgumentException("Not a string");
+		return (int) payload(tape[index]);
+	}
+}
@@ -0,0 +1,180 @@
+package se.narstrom.myr.json.value;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+
+public final class MyrJsonTapeArray extends AbstractList<JsonValue> implements JsonArray {
+	private final MyrJsonTape tape;
+
+	private final int index;
+
+	private volatile int[] elements = null;
+
+	MyrJsonTapeArray(final MyrJsonTape tape, final int index) {
+		this.tape = tape;
+		this.index = index;
+	}
+
+	@Override
+	public JsonValue get(final int position) {
+		return tape.getValue(elements()[position]);
+	}
+
+	@Override
+	public boolean getBoolean(final int position) {
+		final JsonValue value = get(position);
+
+		if (value == JsonValue.TRUE)
+			return true;
+		else if (value == JsonValue.FALSE)
+			return false;
+		else
+			throw new ClassCastException();
+	}
+
+	@Override
+	public boolean getBoolean(final int position, final boolean defaultValue) {
+		if (position < 0 || position >= size())
+			return defaultValue;
+
+		final JsonValue value = get(position);
+
+		if (value == JsonValue.TRUE)
+			return true;
+		else if (value == JsonValue.FALSE)
+			return false;
+		else
+			return defaultValue;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	@Override
+	public int getInt(final int position) {
+		return getJsonNumber(position).intValue();
+	}
+
+	@Override
+	public int getInt(final int position, final int defaultValue) {
+		if (position < 0 || position >= size())
+			return defaultValue;
+
+		final JsonValue value = get(position);
+
+		if (value.getValueType() != ValueType.NUMBER)
+			return defaultValue;
+
+		return ((JsonNumber) value).intValue();
+	}
+
+	@Override
+	public JsonArray getJsonArray(final int position) {
+		return (JsonArray) get(position);
+	}
+
+	@Override
+	public JsonNumber getJsonNumber(final int position) {
+		return (JsonNumber) get(position);
+	}
+
+	@Override
+	public JsonObject getJsonObject(final int position) {
+		return (JsonObject) get(position);
+	}
+
+	@Override
+	public JsonString getJsonString(final int position) {
+		return (JsonString) get(position);
+	}
+
+	@Override
+	public String getString(final int position) {
+		return getJsonString(position).getString();
+	}
+
+	@Override
+	public String getString(final int position, final String defaultValue) {
+		if (position < 0 || position >= size())
+			return defaultValue;
+
+		final JsonValue value = get(position);
+
+		if (value.getValueType() != ValueType.STRING)
+			return defaultValue;
+		return ((JsonString) value).getString();
+	}
+
+	public MyrJsonTape getTape() {
+		return tape;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T extends JsonValue> List<T> getValuesAs(final Class<T> clazz) {
+		return (List<T>) this;
+	}
+
+	@Override
+	public ValueType getValueType() {
+		return ValueType.ARRAY;
+	}
+
+	@Override
+	public boolean isNull(final int position) {
+		return get(position) == JsonValue.NULL;
+	}
+
+	@Override
+	public Iterator<JsonValue> iterator() {
+		return new ElementIterator();
+	}
+
+	@Override
+	public int size() {
+		return tape.size(index);
+	}
+
+	private int[] elements() {
+		int[] result = elements;
+		if (result == null) {
+			result = new int[tape.size(index)];
+			int element = index + 1;
+			for (int i = 0; i < result.length; ++i) {
+				result[i] = element;
+				element = tape.next(element);
+			}
+			elements = result;
+		}
+		return result;
+	}
+
+	private final class ElementIterator implements Iterator<JsonValue> {
+		private final int end = tape.end(index);
+
+		private int position = index + 1;
+
+		@Override
+		public boolean hasNext() {
+			return position != end;
+		}
+
+		@Override
+		public JsonValue next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			final JsonValue value = tape.getValue(position);
+			position = tape.next(position);
+			return value;
+		}
+	}
+}
@@ -0,0 +1,257 @@
+package se.narstrom.myr.json.value;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonConfig.KeyStrategy;
+import jakarta.json.JsonException;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import se.narstrom.myr.json.MyrJsonContext;
+
+public final class MyrJsonTapeBuilder {
+	private final KeyStrategy keyStrategy;
+
+	private long[] tape = new long[64];
+
+	private int length = 0;
+
+	private char[] arena = new char[256];
+
+	private int arenaLength = 0;
+
+	private int[] starts = new int[16];
+
+	private int[] counts = new int[16];
+
+	private int depth = 0;
+
+	public MyrJsonTapeBuilder(final MyrJsonContext context) {
+		this.keyStrategy = context.getKeyStrategy();
+	}
+
+	public void add(final JsonValue value) {
+		switch (value.getValueType()) {
+			case OBJECT -> {
+				startObject();
+				for (final Map.Entry<String, JsonValue> entry : ((JsonObject) value).entrySet()) {
+					addString(entry.getKey());
+					add(entry.getValue());
+				}
+				end();
+			}
+			case ARRAY -> {
+				startArray();
+				for (final JsonValue element : (JsonArray) value)
+					add(element);
+				end();
+			}
+			case STRING -> addString(((JsonString) value).getChars());
+			case NUMBER -> addNumber((JsonNumber) value);
+			case TRUE, FALSE, NULL -> addLiteral(value);
+		}
+	}
+
+	public void addLiteral(final JsonValue value) {
+		count();
+		append(MyrJsonTape.entry(switch (value.getValueType()) {
+			case TRUE -> MyrJsonTape.TRUE;
+			case FALSE -> MyrJsonTape.FALSE;
+			case NULL -> MyrJsonTape.NULL;
+			default -> throw new IllegalArgumentException("Not a literal");
+		}, 0));
+	}
+
+	public void addLong(final long value) {
+		count();
+		append(MyrJsonTape.entry(MyrJsonTape.LONG, 0));
+		append(value);
+	}
+
+	public void addNumber(final JsonNumber number) {
+		if (number instanceof MyrJsonDoubleNumber dbl) {
+			count();
+			append(MyrJsonTape.entry(MyrJsonTape.DOUBLE, dbl.scale() & 0xFFFFFFFFL));
+			append(dbl.unscaled());
+			append(Double.doubleToRawLongBits(dbl.doubleValue()));
+			return;
+		}
+
+		final BigDecimal value = number.bigDecimalValue();
+		if (value.scale() == 0 && value.precision() <= 18) {
+			addLong(value.longValue());
+			return;
+		}
+
+		count();
+		append(MyrJsonTape.entry(MyrJsonTape.DECIMAL, appendArena(value.toString())));
+	}
+
+	public void addString(final CharSequence value) {
+		count();
+		append(MyrJsonTape.entry(MyrJsonTape.STRING, appendArena(value)));
+	}
+
+	public MyrJsonTape build() {
+		if (depth != 0 || length == 0)
+			throw new IllegalStateException();
+		final MyrJsonTape result = new MyrJsonTape(Arrays.copyOf(tape, length), Arrays.copyOf(arena, arenaLength));
+		length = 0;
+		arenaLength = 0;
+		return result;
+	}
+
+	public void end() {
+		if (depth == 0)
+			throw new IllegalStateException();
+		--depth;
+		final int start = starts[depth];
+		final int tag = MyrJsonTape.tag(tape[start]);
+		int size = counts[depth];
+		if (tag == MyrJsonTape.OBJECT) {
+			size /= 2;
+			if (size > 1)
+				size -= removeDuplicates(start, size);
+		}
+		tape[start] = MyrJsonTape.entry(tag, (long) Math.min(size, MyrJsonTape.MAX_SIZE) << 32 | length);
+		append(MyrJsonTape.entry(MyrJsonTape.END, start));
+	}
+
+	public void startArray() {
+		start(MyrJsonTape.ARRAY);
+	}
+
+	public void startObject() {
+		start(MyrJsonTape.OBJECT);
+	}
+
+	private void append(final long entry) {
+		if (length == tape.length)
+			tape = Arrays.copyOf(tape, length * 2);
+		tape[length++] = entry;
+	}
+
+	private long appendArena(final CharSequence value) {
+		final int len = value.length();
+		if (arena.length - arenaLength < len + 2)
+			arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaLength + len + 2));
+
+		final int offset = arenaLength;
+		arena[offset] = (char) (len >>> 16);
+		arena[offset + 1] = (char) len;
+		if (value instanceof String str) {
+			str.getChars(0, len, arena, offset + 2);
+		} else {
+			for (int i = 0; i < len; ++i)
+				arena[offset + 2 + i] = value.charAt(i);
+		}
+		arenaLength += len + 2;
+		return offset;
+	}
+
+	private void count() {
+		if (depth > 0)
+			++counts[depth - 1];
+		else if (length != 0)
+			throw new IllegalStateException();
+	}
+
+	private int hash(final int key) {
+		final int offset = (int) MyrJsonTape.payload(tape[key]);
+		final int len = arena[offset] << 16 | arena[offset + 1];
+		int hash = 0;
+		for (int i = 0; i < len; ++i)
+			hash = 31 * hash + arena[offset + 2 + i];
+		return hash;
+	}
+
+	private boolean keyEquals(final int key1, final int key2) {
+		final int offset1 = (int) MyrJsonTape.payload(tape[key1]);
+		final int offset2 = (int) MyrJsonTape.payload(tape[key2]);
+		final int len = arena[offset1] << 16 | arena[offset1 + 1];
+		if ((arena[offset2] << 16 | arena[offset2 + 1]) != len)
+			return false;
+		return Arrays.equals(arena, offset1 + 2, offset1 + len + 2, arena, offset2 + 2, offset2 + len + 2);
+	}
+
+	private String keyString(final int key) {
+		final int offset = (int) MyrJsonTape.payload(tape[key]);
+		return new String(arena, offset + 2, arena[offset] << 16 | arena[offset + 1]);
+	}
+
+	private void move(final long[] source, final int base, final int from, final int to, final int target) {
+		final int delta = target - from;
+		for (int i = from; i < to; ++i) {
+			final long entry = source[i - base];
+			final int tag = MyrJsonTape.tag(entry);
+			tape[i + delta] = tag == MyrJsonTape.OBJECT || tag == MyrJsonTape.ARRAY || tag == MyrJsonTape.END ? entry + delta : entry;
+			for (int words = tag == MyrJsonTape.LONG ? 1 : tag == MyrJsonTape.DOUBLE ? 2 : 0; words > 0; --words) {
+				++i;
+				tape[i + delta] = source[i - base];
+			}
+		}
+	}
+
+	private int removeDuplicates(final int start, final int size) {
+		final long[] keys = new long[size];
+		final int[] positions = new int[size + 1];
+		final int[] sources = new int[size];
+		positions[0] = start + 1;
+		for (int i = 0; i < size; ++i) {
+			keys[i] = (long) hash(positions[i]) << 32 | i;
+			positions[i + 1] = MyrJsonTape.next(tape, positions[i] + 1);
+			sources[i] = i;
+		}
+		Arrays.sort(keys);
+
+		int removed = 0;
+		for (int i = 0; i < size; ++i) {
+			final int first = (int) keys[i];
+			if (sources[first] == -1)
+				continue;
+			for (int j = i + 1; j < size && keys[j] >>> 32 == keys[i] >>> 32; ++j) {
+				final int other = (int) keys[j];
+				if (sources[other] == -1 || !keyEquals(positions[first], positions[other]))
+					continue;
+				if (keyStrategy == KeyStrategy.NONE)
+					throw new JsonException("Duplicate key '" + keyString(positions[first]) + "'");
+				if (keyStrategy == KeyStrategy.LAST)
+					sources[first] = other;
+				sources[other] = -1;
+				++removed;
+			}
+		}
+		if (removed == 0)
+			return 0;
+
+		final int base = start + 1;
+		final long[] members = Arrays.copyOfRange(tape, base, length);
+		int target = base;
+		for (int i = 0; i < size; ++i) {
+			final int source = sources[i];
+			if (source == -1)
+				continue;
+			tape[target++] = members[positions[i] - base];
+			move(members, base, positions[source] + 1, positions[source + 1], target);
+			target += positions[source + 1] - positions[source] - 1;
+		}
+		length = target;
+		return removed;
+	}
+
+	private void start(final int tag) {
+		count();
+		if (depth == starts.length) {
+			starts = Arrays.copyOf(starts, depth * 2);
+			counts = Arrays.copyOf(counts, depth * 2);
+		}
+		starts[depth] = length;
+		counts[depth] = 0;
+		++depth;
+		append(MyrJsonTape.entry(tag, 0));
+	}
+}
@@ -0,0 +1,218 @@
+package se.narstrom.myr.json.value;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+
+public final class MyrJsonTapeObject extends AbstractMap<String, JsonValue> implements JsonObject {
+	private final MyrJsonTape tape;
+
+	private final int index;
+
+	private volatile int[] keys;
+
+	MyrJsonTapeObject(final MyrJsonTape tape, final int index) {
+		this.tape = tape;
+		this.index = index;
+	}
+
+	@Override
+	public boolean containsKey(final Object key) {
+		return key instanceof String name && find(name) != -1;
+	}
+
+	@Override
+	public Set<Entry<String, JsonValue>> entrySet() {
+		return new EntrySet();
+	}
+
+	@Override
+	public JsonValue get(final Object key) {
+		return key instanceof String name ? value(name) : null;
+	}
+
+	@Override
+	public boolean getBoolean(final String name) {
+		Objects.requireNonNull(name);
+		final JsonValue value = value(name);
+		return switch (value) {
+			case JsonValue val when val == JsonValue.TRUE -> true;
+			case JsonValue val when val == JsonValue.FALSE -> false;
+			case null -> throw new NullPointerException();
+			default -> throw new ClassCastException();
+		};
+	}
+
+	@Override
+	public boolean getBoolean(final String name, final boolean defaultValue) {
+		Objects.requireNonNull(name);
+		final JsonValue value = value(name);
+		return switch (value) {
+			case JsonValue val when val == JsonValue.TRUE -> true;
+			case JsonValue val when val == JsonValue.FALSE -> false;
+			default -> defaultValue;
+		};
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	@Override
+	public int getInt(final String name) {
+		Objects.requireNonNull(name);
+		return getJsonNumber(name).intValue();
+	}
+
+	@Override
+	public int getInt(final String name, final int defaultValue) {
+		Objects.requireNonNull(name);
+		final JsonValue value = value(name);
+		if (value == null || value.getValueType() != ValueType.NUMBER)
+			return defaultValue;
+		return ((JsonNumber) value).intValue();
+	}
+
+	@Override
+	public JsonArray getJsonArray(final String name) {
+		Objects.requireNonNull(name);
+		return (JsonArray) value(name);
+	}
+
+	@Override
+	public JsonNumber getJsonNumber(final String name) {
+		Objects.requireNonNull(name);
+		return (JsonNumber) value(name);
+	}
+
+	@Override
+	public JsonObject getJsonObject(final String name) {
+		Objects.requireNonNull(name);
+		return (JsonObject) value(name);
+	}
+
+	@Override
+	public JsonString getJsonString(final String name) {
+		Objects.requireNonNull(name);
+		return (JsonString) value(name);
+	}
+
+	@Override
+	public String getString(final String name) {
+		Objects.requireNonNull(name);
+		return getJsonString(name).getString();
+	}
+
+	@Override
+	public String getString(final String name, final String defaultValue) {
+		Objects.requireNonNull(name);
+		final JsonValue value = value(name);
+		if (value == null || value.getValueType() != ValueType.STRING)
+			return defaultValue;
+		return ((JsonString) value).getString();
+	}
+
+	public MyrJsonTape getTape() {
+		return tape;
+	}
+
+	@Override
+	public ValueType getValueType() {
+		return ValueType.OBJECT;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return tape.size(index) == 0;
+	}
+
+	@Override
+	public boolean isNull(final String name) {
+		Objects.requireNonNull(name);
+		final JsonValue value = value(name);
+		if (value == null)
+			throw new NullPointerException();
+		return value == JsonValue.NULL;
+	}
+
+	@Override
+	public int size() {
+		return tape.size(index);
+	}
+
+	private int find(final String name) {
+		if (tape.size(index) <= MyrJsonShape.INDEX_THRESHOLD)
+			return tape.find(index, name);
+
+		int[] table = keys;
+		if (table == null)
+			keys = table = keyIndex();
+		final int mask = table.length - 1;
+		for (int slot = MyrJsonShape.spread(name.hashCode()) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+			final int key = table[slot] - 1;
+			if (tape.contentEquals(key, name))
+				return key + 1;
+		}
+		return -1;
+	}
+
+	private int[] keyIndex() {
+		final int[] table = new int[MyrJsonShape.tableSize(tape.size(index))];
+		final int mask = table.length - 1;
+		final int end = tape.end(index);
+		for (int key = index + 1; key != end; key = tape.next(key + 1)) {
+			int slot = MyrJsonShape.spread(tape.hash(key)) & mask;
+			while (table[slot] != 0)
+				slot = (slot + 1) & mask;
+			table[slot] = key + 1;
+		}
+		return table;
+	}
+
+	private JsonValue value(final String name) {
+		final int value = find(name);
+		return value != -1 ? tape.getValue(value) : null;
+	}
+
+	private final class EntrySet extends AbstractSet<Entry<String, JsonValue>> {
+		@Override
+		public Iterator<Entry<String, JsonValue>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return tape.size(index);
+		}
+	}
+
+	private final class EntryIterator implements Iterator<Entry<String, JsonValue>> {
+		private final int end = tape.end(index);
+
+		private int position = index + 1;
+
+		@Override
+		public boolean hasNext() {
+			return position != end;
+		}
+
+		@Override
+		public Entry<String, JsonValue> next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			final Entry<String, JsonValue> entry = Map.entry(tape.getString(position), tape.getValue(position + 1));
+			position = tape.next(position + 1);
+			return entry;
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package se.narstrom.myr.json.value;
+
+import java.util.Arrays;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonConfig.KeyStrategy;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+import se.narstrom.myr.json.MyrJsonContext;
+
+public final class MyrJsonTreeBuilder {
+	private final KeyStrategy keyStrategy;
+
+	private final MyrJsonShapeCache shapes;
+
+	private String[] keys = new String[16];
+
+	private JsonValue[] values = new JsonValue[16];
+
+	private int size = 0;
+
+	public MyrJsonTreeBuilder(final MyrJsonContext context) {
+		this.keyStrategy = context.getKeyStrategy();
+		this.shapes = context.getShapeCache();
+	}
+
+	public void add(final JsonValue value) {
+		add(null, value);
+	}
+
+	public void add(final String key, final JsonValue value) {
+		if (size == values.length) {
+			keys = Arrays.copyOf(keys, size * 2);
+			values = Arrays.copyOf(values, size * 2);
+		}
+		keys[size] = key;
+		values[size] = value;
+		++size;
+	}
+
+	public JsonArray buildArray(final int mark) {
+		final JsonValue[] array = Arrays.copyOfRange(values, mark, size);
+		truncate(mark);
+		return new MyrJsonArray(array);
+	}
+
+	public JsonObject buildObject(final int mark) {
+		try {
+			return MyrJsonObject.of(keys, values, mark, size, keyStrategy, shapes);
+		} finally {
+			truncate(mark);
+		}
+	}
+
+	public int mark() {
+		return size;
+	}
+
+	public void truncate(final int mark) {
+		Arrays.fill(keys, mark, size, null);
+		Arrays.fill(values, mark, size, null);
+		size = mark;
+	}
+}
@@ -0,0 +1,60 @@
+package se.narstrom.myr.json.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.stream.JsonGenerationException;
+import se.narstrom.myr.json.MyrJsonContext;
+
+final class MyrJsonGeneratorTest {
+
+	@Test
+	void resetFlushesAndClosesPreviousWriter() {
+		final boolean[] closed = new boolean[1];
+		final StringWriter first = new StringWriter() {
+			@Override
+			public void close() {
+				closed[0] = true;
+			}
+		};
+		final MyrJsonGenerator generator = new MyrJsonGenerator(first, new MyrJsonContext(Map.of()));
+		generator.writeStartArray().write(1);
+
+		final StringWriter second = new StringWriter();
+		generator.reset(second);
+		assertEquals("[1", first.toString());
+		assertTrue(closed[0]);
+
+		generator.writeStartObject().write("a", true).writeEnd().close();
+		assertEquals("{\"a\":true}", second.toString());
+	}
+
+	@Test
+	void writeAfterClose() {
+		final MyrJsonGenerator generator = new MyrJsonGenerator(new StringWriter(), new MyrJsonContext(Map.of()));
+		generator.write(1).close();
+		generator.close();
+		assertThrows(JsonGenerationException.class, () -> generator.write(2));
+		assertThrows(JsonGenerationException.class, generator::writeStartArray);
+		assertThrows(JsonGenerationException.class, generator::flush);
+
+		final StringWriter writer = new StringWriter();
+		generator.reset(writer);
+		generator.write(3).close();
+		assertEquals("3", writer.toString());
+	}
+
+	@Test
+	void closeInWrongState() {
+		final MyrJsonGenerator generator = new MyrJsonGenerator(new StringWriter(), new MyrJsonContext(Map.of()));
+		generator.writeStartArray();
+		assertThrows(JsonGenerationException.class, generator::close);
+		assertThrows(JsonGenerationException.class, () -> generator.write(1));
+	}
+}
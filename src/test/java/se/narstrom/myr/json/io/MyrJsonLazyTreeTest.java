@@ -0,0 +1,118 @@
+package se.narstrom.myr.json.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.json.stream.JsonParsingException;
+import se.narstrom.myr.json.MyrJsonConfig;
+import se.narstrom.myr.json.MyrJsonContext;
+import se.narstrom.myr.json.factory.MyrJsonReaderFactory;
+import se.narstrom.myr.json.value.MyrJsonLazyArray;
+import se.narstrom.myr.json.value.MyrJsonLazyObject;
+
+final class MyrJsonLazyTreeTest {
+	private static final String TEXT = "{\"id\": 7, \"name\": \"n\\u00e5me\", \"tags\": [\"a\", {\"b\": [1, 2.5, null]}], \"meta\": {\"x\": {\"y\": true}, \"s\": \"}]\"}, \"empty\": {}}";
+
+	private static final MyrJsonReaderFactory FACTORY = new MyrJsonReaderFactory(new MyrJsonContext(Map.of(MyrJsonConfig.LAZY_TREES, true)));
+
+	@Test
+	void sameAsEager() {
+		final JsonObject expected = Json.createReader(new StringReader(TEXT)).readObject();
+		assertEquals(expected, FACTORY.createReader(TEXT).readObject());
+		assertEquals(expected, FACTORY.createReader(ByteBuffer.wrap(TEXT.getBytes(StandardCharsets.UTF_8))).readObject());
+		assertEquals(expected, FACTORY.createReader(ByteBuffer.wrap(TEXT.getBytes(StandardCharsets.UTF_16LE))).readObject());
+		assertEquals(expected.toString(), FACTORY.createReader(TEXT).readObject().toString());
+		assertEquals(expected.hashCode(), FACTORY.createReader(TEXT).readObject().hashCode());
+	}
+
+	@Test
+	void childrenOnDemand() {
+		for (final JsonObject object : List.of(FACTORY.createReader(TEXT).readObject(), FACTORY.createReader(ByteBuffer.wrap(TEXT.getBytes(StandardCharsets.UTF_8))).readObject())) {
+			assertEquals(7, object.getInt("id"));
+			assertEquals("nåme", object.getString("name"));
+			final MyrJsonLazyObject meta = assertInstanceOf(MyrJsonLazyObject.class, object.get("meta"));
+			final MyrJsonLazyArray tags = assertInstanceOf(MyrJsonLazyArray.class, object.get("tags"));
+			assertFalse(meta.isLoaded());
+			assertFalse(tags.isLoaded());
+
+			assertEquals("}]", meta.getString("s"));
+			assertTrue(meta.isLoaded());
+			assertFalse(assertInstanceOf(MyrJsonLazyObject.class, meta.get("x")).isLoaded());
+			assertTrue(meta.getJsonObject("x").getBoolean("y"));
+			assertFalse(tags.isLoaded());
+			assertEquals(Json.createValue(2.5), tags.getJsonObject(1).getJsonArray("b").get(1));
+			assertTrue(object.getJsonObject("empty").isEmpty());
+		}
+	}
+
+	@Test
+	void invalidChild() {
+		for (final String text : List.of("{\"a\": {\"b\" 1}, \"c\": 3}", "{\"a\": [1 2], \"c\": 3}", "{\"a\": {\"b\": 1,}, \"c\": 3}", "{\"a\": [1, ], \"c\": 3}",
+				"{\"a\": {\"b\": }, \"c\": 3}", "{\"a\": {1: 2}, \"c\": 3}", "{\"a\": [{]}, \"c\": 3}", "{\"a\": [\"x\" \"y\"], \"c\": 3}")) {
+			assertThrows(JsonParsingException.class, () -> FACTORY.createReader(text).readObject(), text);
+			assertThrows(JsonParsingException.class, () -> FACTORY.createReader(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8))).readObject(), text);
+		}
+
+		assertThrows(JsonParsingException.class, () -> FACTORY.createReader("{\"a\": [1, 2}").readObject());
+		assertThrows(JsonParsingException.class, () -> FACTORY.createReader("{\"a\": [1, 2").readObject());
+
+		final JsonObject scalar = FACTORY.createReader("{\"a\": {\"b\": tru}, \"c\": 3}").readObject();
+		assertEquals(3, scalar.getInt("c"));
+		assertThrows(JsonParsingException.class, () -> scalar.getJsonObject("a").get("b"));
+	}
+
+	@Test
+	void maxDepth() {
+		final MyrJsonReaderFactory factory = new MyrJsonReaderFactory(new MyrJsonContext(Map.of(MyrJsonConfig.LAZY_TREES, true, MyrJsonConfig.MAX_DEPTH, 3)));
+		assertEquals(1, factory.createReader("[[[1]]]").readArray().getJsonArray(0).getJsonArray(0).getInt(0));
+		for (final JsonArray array : List.of(factory.createReader("[[[[1]]]]").readArray(), factory.createReader(ByteBuffer.wrap("[[[[1]]]]".getBytes(StandardCharsets.UTF_8))).readArray()))
+			assertThrows(JsonParsingException.class, () -> array.getJsonArray(0).getJsonArray(0).getJsonArray(0).getInt(0));
+	}
+
+	@Test
+	void mutableInput() {
+		final StringBuilder text = new StringBuilder("{\"a\": {\"b\": 1}}");
+		final JsonObject object = FACTORY.createReader(text).readObject();
+		text.setCharAt(text.indexOf("1"), '2');
+		assertEquals(1, object.getJsonObject("a").getInt("b"));
+
+		final byte[] bytes = "{\"a\": {\"b\": 1}}".getBytes(StandardCharsets.UTF_8);
+		final JsonObject fromBytes = FACTORY.createReader(ByteBuffer.wrap(bytes)).readObject();
+		bytes[bytes.length - 3] = '2';
+		assertEquals(1, fromBytes.getJsonObject("a").getInt("b"));
+
+		final String nested = "  {\"x\": 0, \"a\": {\"b\": {\"c\": 1}}, \"d\": [1, 2]}";
+		final StringBuilder nestedText = new StringBuilder(nested);
+		final byte[] nestedBytes = nested.getBytes(StandardCharsets.UTF_8);
+		final JsonObject fromText = FACTORY.createReader(nestedText).readObject();
+		final JsonObject fromNestedBytes = FACTORY.createReader(ByteBuffer.wrap(nestedBytes)).readObject();
+		nestedText.replace(0, nestedText.length(), " ".repeat(nestedText.length()));
+		Arrays.fill(nestedBytes, (byte) ' ');
+		for (final JsonObject value : List.of(fromText, fromNestedBytes)) {
+			assertEquals(1, value.getJsonObject("a").getJsonObject("b").getInt("c"));
+			assertEquals(2, value.getJsonArray("d").getInt(1));
+		}
+	}
+
+	@Test
+	void streamInput() {
+		final JsonObject object = FACTORY.createReader(new StringReader(TEXT)).readObject();
+		assertFalse(object.get("meta") instanceof MyrJsonLazyObject);
+		assertEquals(Json.createReader(new StringReader(TEXT)).readObject(), object);
+	}
+}
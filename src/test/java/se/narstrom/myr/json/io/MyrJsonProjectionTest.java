@@ -0,0 +1,72 @@
+package se.narstrom.myr.json.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.Json;
+import jakarta.json.JsonReaderFactory;
+import jakarta.json.JsonValue;
+import se.narstrom.myr.json.MyrJsonConfig;
+import se.narstrom.myr.json.MyrJsonProvider;
+
+final class MyrJsonProjectionTest {
+	private static final String TEXT = "{\"a\": 1, \"b\": {\"x\": [1, {\"}\": \"]\"}]}, \"c\": {\"d\": 2, \"e\": 3}, \"items\": [{\"id\": 1, \"n\": 2}, {\"id\": 3}, 4]}";
+
+	private static JsonValue read(final Map<String, ?> config, final String text) {
+		final JsonReaderFactory factory = new MyrJsonProvider().createReaderFactory(config);
+		final JsonValue fromReader = factory.createReader(new StringReader(text)).readValue();
+		final JsonValue fromBytes = factory.createReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))).readValue();
+		assertEquals(fromReader, fromBytes);
+		return fromReader;
+	}
+
+	private static JsonValue json(final String text) {
+		return Json.createReader(new StringReader(text)).readValue();
+	}
+
+	@Test
+	void include() {
+		assertEquals(json("{\"a\": 1, \"c\": {\"d\": 2}}"), read(Map.of(MyrJsonConfig.INCLUDE, List.of("/a", "/c/d", "/missing")), TEXT));
+		assertEquals(json("{\"c\": {\"d\": 2, \"e\": 3}}"), read(Map.of(MyrJsonConfig.INCLUDE, List.of("/c/d", "/c")), TEXT));
+		assertEquals(json(TEXT), read(Map.of(MyrJsonConfig.INCLUDE, ""), TEXT));
+	}
+
+	@Test
+	void exclude() {
+		assertEquals(json("{\"a\": 1, \"c\": {\"d\": 2}, \"items\": [{\"n\": 2}, {}, 4]}"), read(Map.of(MyrJsonConfig.EXCLUDE, List.of("/b", "/c/e", "/items/*/id")), TEXT));
+	}
+
+	@Test
+	void includeAndExclude() {
+		assertEquals(json("{\"c\": {\"d\": 2}}"), read(Map.of(MyrJsonConfig.INCLUDE, "/c", MyrJsonConfig.EXCLUDE, "/c/e"), TEXT));
+		assertEquals(json("{}"), read(Map.of(MyrJsonConfig.INCLUDE, "/c/d", MyrJsonConfig.EXCLUDE, "/c"), TEXT));
+	}
+
+	@Test
+	void arrays() {
+		assertEquals(json("{\"items\": [{\"id\": 1}, {\"id\": 3}, 4]}"), read(Map.of(MyrJsonConfig.INCLUDE, "/items/*/id"), TEXT));
+		assertEquals(json("{\"items\": [{\"id\": 3}]}"), read(Map.of(MyrJsonConfig.INCLUDE, "/items/1"), TEXT));
+		assertEquals(json("[[2], 3]"), read(Map.of(MyrJsonConfig.EXCLUDE, List.of("/0", "/1/0")), "[1, [{}, 2], 3]"));
+	}
+
+	@Test
+	void wildcardAndSpecificSibling() {
+		final String text = "{\"a\": {\"x\": 1, \"y\": 2, \"z\": 3}, \"b\": {\"x\": 4, \"y\": 5}}";
+		assertEquals(json("{\"a\": {\"x\": 1, \"y\": 2}, \"b\": {\"x\": 4}}"), read(Map.of(MyrJsonConfig.INCLUDE, List.of("/*/x", "/a/y")), text));
+		assertEquals(json("{\"a\": {\"z\": 3}, \"b\": {\"y\": 5}}"), read(Map.of(MyrJsonConfig.EXCLUDE, List.of("/*/x", "/a/y")), text));
+		assertEquals(json("{\"a\": {\"x\": 1, \"y\": 2, \"z\": 3}, \"b\": {\"x\": 4}}"), read(Map.of(MyrJsonConfig.INCLUDE, List.of("/*/x", "/a")), text));
+	}
+
+	@Test
+	void configInUse() {
+		final JsonReaderFactory factory = new MyrJsonProvider().createReaderFactory(Map.of(MyrJsonConfig.INCLUDE, List.of("/a")));
+		assertEquals(Map.of(MyrJsonConfig.INCLUDE, List.of("/a")), factory.getConfigInUse());
+	}
+}
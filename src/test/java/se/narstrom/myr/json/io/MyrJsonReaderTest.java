@@ -0,0 +1,57 @@
+package se.narstrom.myr.json.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.JsonConfig;
+import jakarta.json.JsonException;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReaderFactory;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import se.narstrom.myr.json.MyrJsonProvider;
+
+final class MyrJsonReaderTest {
+	private static final String TEXT = "{\"a\": 1, \"b\": [{\"c\": 2, \"c\": 3}, []], \"a\": 4}";
+
+	private static JsonObject read(final JsonConfig.KeyStrategy strategy) {
+		final JsonReaderFactory factory = new MyrJsonProvider().createReaderFactory(Map.of(JsonConfig.KEY_STRATEGY, strategy));
+		return factory.createReader(new StringReader(TEXT)).readObject();
+	}
+
+	private static JsonObject parse(final JsonConfig.KeyStrategy strategy) {
+		final JsonParser parser = new MyrJsonProvider().createParserFactory(Map.of(JsonConfig.KEY_STRATEGY, strategy)).createParser(new StringReader(TEXT));
+		assertEquals(Event.START_OBJECT, parser.next());
+		return parser.getObject();
+	}
+
+	@Test
+	void keyStrategyLast() {
+		for (final JsonObject object : List.of(read(JsonConfig.KeyStrategy.LAST), parse(JsonConfig.KeyStrategy.LAST))) {
+			assertEquals(List.of("a", "b"), List.copyOf(object.keySet()));
+			assertEquals(4, object.getInt("a"));
+			assertEquals(3, object.getJsonArray("b").getJsonObject(0).getInt("c"));
+			assertEquals(0, object.getJsonArray("b").getJsonArray(1).size());
+		}
+	}
+
+	@Test
+	void keyStrategyFirst() {
+		for (final JsonObject object : List.of(read(JsonConfig.KeyStrategy.FIRST), parse(JsonConfig.KeyStrategy.FIRST))) {
+			assertEquals(1, object.getInt("a"));
+			assertEquals(2, object.getJsonArray("b").getJsonObject(0).getInt("c"));
+		}
+	}
+
+	@Test
+	void keyStrategyNone() {
+		assertThrows(JsonException.class, () -> read(JsonConfig.KeyStrategy.NONE));
+		assertThrows(JsonException.class, () -> parse(JsonConfig.KeyStrategy.NONE));
+	}
+}
@@ -0,0 +1,166 @@
+package se.narstrom.myr.json.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonConfig;
+import jakarta.json.JsonException;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import se.narstrom.myr.json.MyrJsonConfig;
+import se.narstrom.myr.json.MyrJsonContext;
+import se.narstrom.myr.json.factory.MyrJsonParserFactory;
+import se.narstrom.myr.json.factory.MyrJsonReaderFactory;
+import se.narstrom.myr.json.value.MyrJsonTape;
+import se.narstrom.myr.json.value.MyrJsonTapeArray;
+import se.narstrom.myr.json.value.MyrJsonTapeObject;
+
+final class MyrJsonTapeTest {
+	private static final String TEXT = "{\"id\": 7, \"name\": \"n\\u00e5me\", \"tags\": [\"a\", {\"b\": [1, -2.5, 1e2, 123456789012345678901234567890, null, true, false]}, []], \"meta\": {\"x\": {}, \"s\": \"\"}}";
+
+	private static final MyrJsonContext CONTEXT = new MyrJsonContext(Map.of());
+
+	private static MyrJsonTape tape(final String text, final MyrJsonContext context) {
+		return ((MyrJsonReader) new MyrJsonReaderFactory(context).createReader(new StringReader(text))).readTape();
+	}
+
+	private static List<String> events(final JsonParser parser) {
+		final List<String> events = new ArrayList<>();
+		while (parser.hasNext()) {
+			final Event event = parser.next();
+			events.add(switch (event) {
+				case KEY_NAME, VALUE_STRING -> event + ":" + parser.getString();
+				case VALUE_NUMBER -> event + ":" + parser.getBigDecimal();
+				default -> event.toString();
+			});
+		}
+		return events;
+	}
+
+	@Test
+	void sameAsTree() {
+		final JsonObject expected = Json.createReader(new StringReader(TEXT)).readObject();
+		final JsonValue tape = tape(TEXT, CONTEXT).getValue();
+		assertInstanceOf(MyrJsonTapeObject.class, tape);
+		assertEquals(expected, tape);
+		assertEquals(tape, expected);
+		assertEquals(expected.hashCode(), tape.hashCode());
+		assertEquals(expected.toString(), tape.toString());
+
+		final byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+		assertEquals(expected, ((MyrJsonReader) new MyrJsonReaderFactory(CONTEXT).createReader(new ByteArrayInputStream(bytes))).readTape().getValue());
+		assertEquals(expected, MyrJsonTape.of(expected, CONTEXT).getValue());
+		assertEquals(Json.createValue("x"), tape("\"x\"", CONTEXT).getValue());
+	}
+
+	@Test
+	void access() {
+		final JsonObject object = tape(TEXT, CONTEXT).getValue().asJsonObject();
+		assertEquals(4, object.size());
+		assertEquals(List.of("id", "name", "tags", "meta"), List.copyOf(object.keySet()));
+		assertEquals(7, object.getInt("id"));
+		assertEquals("nåme", object.getString("name"));
+		assertTrue(object.containsKey("meta"));
+		assertFalse(object.containsKey("nope"));
+		assertEquals("dflt", object.getString("nope", "dflt"));
+
+		final JsonArray tags = object.getJsonArray("tags");
+		assertInstanceOf(MyrJsonTapeArray.class, tags);
+		assertEquals(3, tags.size());
+		assertTrue(tags.getJsonArray(2).isEmpty());
+		final JsonArray b = tags.getJsonObject(1).getJsonArray("b");
+		assertEquals(1, b.getInt(0));
+		assertEquals(new BigDecimal("-2.5"), b.getJsonNumber(1).bigDecimalValue());
+		assertEquals(new BigDecimal("1e2"), b.getJsonNumber(2).bigDecimalValue());
+		assertEquals(new BigDecimal("123456789012345678901234567890"), b.getJsonNumber(3).bigDecimalValue());
+		assertTrue(b.isNull(4));
+		assertTrue(b.getBoolean(5));
+		assertFalse(b.getBoolean(6));
+		assertThrows(IndexOutOfBoundsException.class, () -> b.get(7));
+		assertTrue(object.getJsonObject("meta").getJsonObject("x").isEmpty());
+	}
+
+	@Test
+	void doubleNumbers() {
+		final MyrJsonContext context = new MyrJsonContext(Map.of(MyrJsonConfig.DOUBLE_NUMBERS, true));
+		final JsonArray array = tape("[1, 2.50, 1e300]", context).getValue().asJsonArray();
+		final JsonArray expected = Json.createReader(new StringReader("[1, 2.50, 1e300]")).readArray();
+		assertEquals(expected, array);
+		assertEquals(expected.hashCode(), array.hashCode());
+		assertEquals(expected.toString(), array.toString());
+		assertEquals(2.5, array.getJsonNumber(1).doubleValue());
+	}
+
+	@Test
+	void duplicateKeys() {
+		final String text = "{\"a\": 1, \"b\": [2, {\"c\": [3.5]}], \"a\": [4, {}], \"d\": 5}";
+		final JsonObject last = tape(text, CONTEXT).getValue().asJsonObject();
+		assertEquals(Json.createReader(new StringReader(text)).readObject(), last);
+		assertEquals(List.of("a", "b", "d"), List.copyOf(last.keySet()));
+		assertEquals(Json.createReader(new StringReader(text)).readObject().toString(), last.toString());
+		assertEquals(3.5, last.getJsonArray("b").getJsonObject(1).getJsonArray("c").getJsonNumber(0).doubleValue());
+		final JsonObject first = tape(text, new MyrJsonContext(Map.of(JsonConfig.KEY_STRATEGY, JsonConfig.KeyStrategy.FIRST))).getValue().asJsonObject();
+		assertEquals(3, first.size());
+		assertEquals(1, first.getInt("a"));
+		assertThrows(JsonException.class, () -> tape(text, new MyrJsonContext(Map.of(JsonConfig.KEY_STRATEGY, JsonConfig.KeyStrategy.NONE))));
+		assertEquals(events(new MyrJsonParserFactory(CONTEXT).createParser(last)), events(new MyrJsonParserFactory(CONTEXT).createParser(tape(text, CONTEXT))));
+		assertEquals(List.of("START_OBJECT", "KEY_NAME:a", "VALUE_NUMBER:1", "KEY_NAME:b", "VALUE_NUMBER:2", "END_OBJECT"), events(new MyrJsonParserFactory(CONTEXT).createParser(tape("{\"a\": 1, \"b\": 2, \"a\": 1}", CONTEXT))));
+	}
+
+	@Test
+	void wideObject() {
+		final StringBuilder sb = new StringBuilder("{");
+		for (int i = 0; i < 100; ++i)
+			sb.append(i != 0 ? ", " : "").append("\"k").append(i).append("\": ").append(i);
+		final JsonObject object = tape(sb.append("}").toString(), CONTEXT).getValue().asJsonObject();
+		for (int i = 0; i < 100; ++i)
+			assertEquals(i, object.getInt("k" + i));
+		assertFalse(object.containsKey("k100"));
+		assertEquals(Json.createReader(new StringReader(sb.toString())).readObject(), object);
+	}
+
+	@Test
+	void parser() {
+		final MyrJsonParserFactory factory = new MyrJsonParserFactory(CONTEXT);
+		final MyrJsonTape tape = tape(TEXT, CONTEXT);
+		assertEquals(events(factory.createParser(TEXT)), events(factory.createParser(tape)));
+		assertEquals(events(factory.createParser(TEXT)), events(factory.createParser(tape.getValue().asJsonObject())));
+
+		final JsonParser parser = factory.createParser(tape);
+		assertEquals(Event.START_OBJECT, parser.next());
+		assertEquals(Event.KEY_NAME, parser.next());
+		assertEquals(Event.VALUE_NUMBER, parser.next());
+		assertEquals(7L, parser.getLong());
+		assertTrue(parser.isIntegralNumber());
+		assertEquals(Event.KEY_NAME, parser.next());
+		assertEquals(Event.VALUE_STRING, parser.next());
+		assertEquals(Event.KEY_NAME, parser.next());
+		assertEquals(Event.START_ARRAY, parser.next());
+		parser.skipArray();
+		assertEquals(Event.END_ARRAY, parser.currentEvent());
+		assertEquals(Event.KEY_NAME, parser.next());
+		assertEquals("meta", parser.getString());
+		assertEquals(Event.START_OBJECT, parser.next());
+		assertEquals(Json.createObjectBuilder().add("x", JsonValue.EMPTY_JSON_OBJECT).add("s", "").build(), parser.getObject());
+		assertEquals(Event.END_OBJECT, parser.currentEvent());
+		assertEquals(Event.END_OBJECT, parser.next());
+		assertFalse(parser.hasNext());
+	}
+}
@@ -0,0 +1,142 @@
+package se.narstrom.myr.json.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import jakarta.json.stream.JsonParsingException;
+import se.narstrom.myr.json.MyrJsonConfig;
+import se.narstrom.myr.json.MyrJsonContext;
+import se.narstrom.myr.json.factory.MyrJsonParserFactory;
+
+final class MyrJsonArraySplitTest {
+	private static final String TEXT = createText(50000);
+
+	private static final MyrJsonParserFactory FACTORY = new MyrJsonParserFactory(new MyrJsonContext(Map.of()));
+
+	private static String createText(final int count) {
+		final StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < count; ++i) {
+			if (i != 0)
+				sb.append(",\n ");
+			sb.append("{\"id\": ").append(i).append(", \"name\": \"n,]}\\\"").append(i).append("\", \"tags\": [").append(i % 7).append(", [], {}]}");
+		}
+		return sb.append("]").toString();
+	}
+
+	private static List<JsonValue> expected() {
+		final JsonParser parser = FACTORY.createParser(new StringReader(TEXT));
+		assertEquals(Event.START_ARRAY, parser.next());
+		return parser.getArrayStream().collect(Collectors.toList());
+	}
+
+	private static List<JsonValue> parallel(final JsonParser parser) {
+		assertEquals(Event.START_ARRAY, parser.next());
+		final List<JsonValue> values = parser.getArrayStream().parallel().collect(Collectors.toList());
+		assertEquals(Event.END_ARRAY, parser.currentEvent());
+		return values;
+	}
+
+	@Test
+	void byteArray() {
+		final byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+		assertEquals(expected(), parallel(FACTORY.createParser(bytes, 0, bytes.length)));
+	}
+
+	@Test
+	void splits() {
+		final JsonParser parser = FACTORY.createParser(TEXT);
+		assertEquals(Event.START_ARRAY, parser.next());
+		assertNotNull(parser.getArrayStream().spliterator().trySplit());
+	}
+
+	@Test
+	void charSequence() {
+		assertEquals(expected(), parallel(FACTORY.createParser(TEXT)));
+	}
+
+	@Test
+	void mappedFile(@TempDir final Path dir) throws IOException {
+		final Path file = dir.resolve("array.json");
+		Files.writeString(file, TEXT);
+		try (final JsonParser parser = FACTORY.createParser(file)) {
+			assertEquals(expected(), parallel(parser));
+		}
+	}
+
+	@Test
+	void readArray() {
+		final MyrJsonContext context = new MyrJsonContext(Map.of(MyrJsonConfig.PARALLEL_ARRAYS, true));
+		final byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+		try (final JsonReader reader = context.defaultReaderFactory().createReader(new ByteArrayInputStream(bytes))) {
+			final JsonArray array = reader.readArray();
+			assertEquals(expected(), array);
+		}
+	}
+
+	@Test
+	void invalidElement() {
+		final String text = TEXT.substring(0, TEXT.length() - 1) + ", {\"a\" 1}]";
+		final JsonParser parser = FACTORY.createParser(text);
+		assertEquals(Event.START_ARRAY, parser.next());
+		assertThrows(JsonParsingException.class, () -> parser.getArrayStream().parallel().count());
+	}
+
+	@Test
+	void misplacedCommas() {
+		final String elements = TEXT.substring(1, TEXT.length() - 1);
+		for (final String text : List.of("[,1]", "[1,]", "[1,,2]", "[," + elements + "]", "[" + elements + ",,1]")) {
+			final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+			for (final JsonParser parser : List.of(FACTORY.createParser(new StringReader(text)), FACTORY.createParser(text), FACTORY.createParser(bytes, 0, bytes.length))) {
+				assertEquals(Event.START_ARRAY, parser.next());
+				assertThrows(JsonParsingException.class, () -> parser.getArrayStream().collect(Collectors.toList()), text);
+			}
+			for (final JsonParser parser : List.of(FACTORY.createParser(text), FACTORY.createParser(bytes, 0, bytes.length))) {
+				assertEquals(Event.START_ARRAY, parser.next());
+				assertThrows(JsonParsingException.class, () -> parser.getArrayStream().parallel().collect(Collectors.toList()), text);
+			}
+		}
+	}
+
+	@Test
+	void missingComma() {
+		final int middle = TEXT.indexOf(",\n ", TEXT.length() / 2);
+		final String text = TEXT.substring(0, middle) + "x" + TEXT.substring(middle + 3);
+		final JsonParser sequential = FACTORY.createParser(new StringReader(text));
+		assertEquals(Event.START_ARRAY, sequential.next());
+		final String expected = assertThrows(JsonParsingException.class, () -> sequential.getArrayStream().count()).getMessage();
+		assertEquals("Unexpected x, expected ',' or ']'", expected);
+
+		final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		for (final JsonParser parser : List.of(FACTORY.createParser(text), FACTORY.createParser(bytes, 0, bytes.length))) {
+			assertEquals(Event.START_ARRAY, parser.next());
+			assertEquals(expected, assertThrows(JsonParsingException.class, () -> parser.getArrayStream().parallel().count()).getMessage());
+		}
+	}
+
+	@Test
+	void trailingComma() {
+		final String text = TEXT.substring(0, TEXT.length() - 1) + ",]";
+		final JsonParser parser = FACTORY.createParser(text);
+		assertEquals(Event.START_ARRAY, parser.next());
+		assertThrows(JsonParsingException.class, () -> parser.getArrayStream().parallel().count());
+	}
+}
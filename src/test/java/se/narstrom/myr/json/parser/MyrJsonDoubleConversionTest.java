@@ -0,0 +1,79 @@
+package se.narstrom.myr.json.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonNumber;
+import se.narstrom.myr.json.MyrJsonConfig;
+import se.narstrom.myr.json.value.MyrJsonDoubleNumber;
+
+final class MyrJsonDoubleConversionTest {
+
+	private static void assertParsed(final String text) {
+		final char[] chars = text.toCharArray();
+		assertEquals(Double.doubleToRawLongBits(Double.parseDouble(text)),
+				Double.doubleToRawLongBits(MyrJsonDoubleConversion.parseDouble(chars, chars.length)), text);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "0", "-0", "0.1", "-2.5e-3", "1e23", "9007199254740993", "2.2250738585072011e-308",
+			"2.2250738585072014e-308", "4.9e-324", "2.4703282292062327e-324", "1.7976931348623157e308",
+			"1.7976931348623159e308", "1e-400", "1e400", "123456789012345678901234567890",
+			"0.000000000000000000000000000001", "7.3177701707893310e+15" })
+	void edgeCases(final String text) {
+		assertParsed(text);
+	}
+
+	@Test
+	void random() {
+		final Random random = new Random(17);
+		for (int i = 0; i < 100_000; ++i) {
+			final double value = Double.longBitsToDouble(random.nextLong());
+			if (Double.isFinite(value))
+				assertParsed(Double.toString(value).replace('E', 'e'));
+			assertParsed(random.nextLong() + "e" + (random.nextInt(80) - 40));
+		}
+	}
+
+	@Test
+	void doubleNumbers() {
+		final JsonArray array = Json.createReaderFactory(Map.of(MyrJsonConfig.DOUBLE_NUMBERS, true))
+				.createReader(new StringReader("[1.5, 12]")).readArray();
+		assertInstanceOf(MyrJsonDoubleNumber.class, array.get(0));
+		assertEquals(1.5, array.getJsonNumber(0).doubleValue());
+		assertEquals(12, array.getInt(1));
+	}
+
+	@Test
+	void doubleNumbersMatchDefaultModel() {
+		final String text = "[2.0, 0.1, -12.50, 1e2, 1.5E-3, -0.0, 0.000000000000000000000001, 123456789.123456789, 98765.4321e-2, 7e-30, -3.99, 1e19, 12345678901234567890.5]";
+		final JsonArray expected = Json.createReader(new StringReader(text)).readArray();
+		final JsonArray actual = Json.createReaderFactory(Map.of(MyrJsonConfig.DOUBLE_NUMBERS, true)).createReader(new StringReader(text)).readArray();
+		assertInstanceOf(MyrJsonDoubleNumber.class, actual.get(0));
+		assertEquals(expected, actual);
+		assertEquals(actual, expected);
+		assertEquals(expected.hashCode(), actual.hashCode());
+		assertEquals(expected.toString(), actual.toString());
+		for (int i = 0; i < expected.size(); ++i) {
+			final JsonNumber e = expected.getJsonNumber(i);
+			final JsonNumber a = actual.getJsonNumber(i);
+			assertEquals(e.hashCode(), a.hashCode(), e.toString());
+			assertEquals(e.bigDecimalValue(), a.bigDecimalValue());
+			assertEquals(e.isIntegral(), a.isIntegral());
+			assertEquals(e.intValue(), a.intValue());
+			assertEquals(e.longValue(), a.longValue());
+			assertTrue(e.doubleValue() == a.doubleValue());
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package se.narstrom.myr.json.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.stream.JsonParser.Event;
+import se.narstrom.myr.json.MyrJsonConfig;
+import se.narstrom.myr.json.MyrJsonContext;
+import se.narstrom.myr.json.factory.MyrJsonParserFactory;
+
+final class MyrJsonKeyMatcherTest {
+	private static final String TEXT = "{\"id\": 1, \"name\": \"x\", \"extra\": [], \"n\\u0061me\": \"y\", \"nåme\": 2, \"ts\": 3}";
+
+	private static List<Integer> keyIndices(final MyrJsonTextParser parser, final MyrJsonKeyMatcher matcher) {
+		final List<Integer> indices = new ArrayList<>();
+		while (parser.hasNext()) {
+			if (parser.next() == Event.KEY_NAME)
+				indices.add(parser.getKeyIndex(matcher));
+		}
+		return indices;
+	}
+
+	@Test
+	void match() {
+		final MyrJsonKeyMatcher matcher = new MyrJsonKeyMatcher("id", "name", "ts", "");
+		assertEquals(4, matcher.size());
+		assertEquals(0, matcher.match("id"));
+		assertEquals(1, matcher.match(new StringBuilder("name")));
+		assertEquals(2, matcher.match("ts"));
+		assertEquals(3, matcher.match(""));
+		assertEquals(-1, matcher.match("nam"));
+		assertEquals(-1, matcher.match("names"));
+		assertEquals("ts", matcher.name(2));
+	}
+
+	@Test
+	void duplicateKey() {
+		assertThrows(IllegalArgumentException.class, () -> new MyrJsonKeyMatcher("a", "b", "a"));
+	}
+
+	@Test
+	void streamParser() {
+		final MyrJsonKeyMatcher matcher = new MyrJsonKeyMatcher("id", "name", "ts", "nåme");
+		final MyrJsonParserFactory factory = new MyrJsonParserFactory(new MyrJsonContext(Map.of()));
+		assertEquals(List.of(0, 1, -1, 1, 3, 2), keyIndices((MyrJsonTextParser) factory.createParser(TEXT), matcher));
+	}
+
+	@Test
+	void utf8Parser() {
+		final MyrJsonKeyMatcher matcher = new MyrJsonKeyMatcher("id", "name", "ts", "nåme");
+		final MyrJsonParserFactory factory = new MyrJsonParserFactory(new MyrJsonContext(Map.of(MyrJsonConfig.SYMBOL_TABLE_SIZE, 16)));
+		final byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+		assertEquals(List.of(0, 1, -1, 1, 3, 2), keyIndices((MyrJsonTextParser) factory.createParser(bytes, 0, bytes.length), matcher));
+	}
+
+	@Test
+	void keyAtBufferBoundary() {
+		final MyrJsonKeyMatcher matcher = new MyrJsonKeyMatcher("id", "name");
+		final MyrJsonParserFactory factory = new MyrJsonParserFactory(new MyrJsonContext(Map.of(MyrJsonConfig.BUFFER_SIZE, 64)));
+		for (int padding = 50; padding < 64; ++padding) {
+			final String text = "{" + " ".repeat(padding) + "\"name\"   : 1}";
+			assertEquals(List.of(1), keyIndices((MyrJsonTextParser) factory.createParser(new StringReader(text)), matcher));
+			final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+			assertEquals(List.of(1), keyIndices((MyrJsonTextParser) factory.createParser(new ByteArrayInputStream(bytes)), matcher));
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package se.narstrom.myr.json.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonParser.Event;
+import jakarta.json.stream.JsonParsingException;
+import se.narstrom.myr.json.MyrJsonConfig;
+import se.narstrom.myr.json.MyrJsonContext;
+import se.narstrom.myr.json.factory.MyrJsonParserFactory;
+
+final class MyrJsonReadTreeTest {
+	private static final MyrJsonParserFactory FACTORY = new MyrJsonParserFactory(new MyrJsonContext(Map.of()));
+
+	private static List<MyrJsonTextParser> parsers(final MyrJsonParserFactory factory, final String text) {
+		final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		return List.of(
+				(MyrJsonTextParser) factory.createParser(new StringReader(text)),
+				(MyrJsonTextParser) factory.createParser(text),
+				(MyrJsonTextParser) factory.createParser(new ByteArrayInputStream(bytes)),
+				(MyrJsonTextParser) factory.createParser(bytes, 0, bytes.length));
+	}
+
+	@Test
+	void sameAsEvents() {
+		for (final String text : List.of("{}", "[]", " 42 ", "\"s\\u00e5\"", "null", "[true, false, null, -0, 1.5e-3, 12345678901234567890]",
+				"{\"a\": {\"b\": [{}, [], {\"c\": \"d\\n\"}]}, \"e\": \"få\", \"a\": 1}")) {
+			final MyrJsonTextParser events = (MyrJsonTextParser) FACTORY.createParser(text);
+			events.next();
+			final JsonValue expected = events.getValue();
+			for (final MyrJsonTextParser parser : parsers(FACTORY, text)) {
+				assertEquals(expected, parser.readTree());
+				assertFalse(parser.hasNext());
+			}
+		}
+	}
+
+	@Test
+	void invalid() {
+		for (final String text : List.of("{  ", "[1 2]", "{\"a\" 1}", "{\"a\": 1,}", "[1,]", "{1: 2}", "[tru]", "[-]", "[\"a]"))
+			for (final MyrJsonTextParser parser : parsers(FACTORY, text))
+				assertThrows(JsonParsingException.class, parser::readTree, text);
+	}
+
+	@Test
+	void maxDepth() {
+		final MyrJsonParserFactory factory = new MyrJsonParserFactory(new MyrJsonContext(Map.of(MyrJsonConfig.MAX_DEPTH, 3)));
+		for (final MyrJsonTextParser parser : parsers(factory, "[{\"a\": [1]}]"))
+			parser.readTree();
+		for (final MyrJsonTextParser parser : parsers(factory, "[{\"a\": [[1]]}]"))
+			assertThrows(JsonParsingException.class, parser::readTree);
+	}
+
+	@Test
+	void afterNext() {
+		final MyrJsonTextParser parser = (MyrJsonTextParser) FACTORY.createParser("[1]");
+		assertEquals(Event.START_ARRAY, parser.next());
+		assertThrows(IllegalStateException.class, parser::readTree);
+	}
+}
@@ -0,0 +1,81 @@
+package se.narstrom.myr.json.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.Json;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonParsingException;
+import se.narstrom.myr.json.MyrJsonContext;
+import se.narstrom.myr.json.factory.MyrJsonParserFactory;
+
+final class MyrJsonRecordStreamTest {
+	private static final MyrJsonParserFactory FACTORY = new MyrJsonParserFactory(new MyrJsonContext(Map.of()));
+
+	private static List<JsonValue> records(final String text) {
+		return ((MyrJsonTextParser) FACTORY.createParser(new StringReader(text))).getRecordStream().collect(Collectors.toList());
+	}
+
+	private static String createLog(final int count) {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < count; ++i)
+			sb.append("{\"seq\": ").append(i).append(", \"msg\": \"line\\n").append(i).append("\"}\n");
+		return sb.toString();
+	}
+
+	@Test
+	void newlineDelimited() {
+		final List<JsonValue> records = records("{\"a\": 1}\n[2]\r\n\"three\"\n\n4\n");
+		assertEquals(List.of(Json.createObjectBuilder().add("a", 1).build(), Json.createArrayBuilder().add(2).build(), Json.createValue("three"), Json.createValue(4)), records);
+	}
+
+	@Test
+	void textSequence() {
+		final List<JsonValue> records = records("\u001E{\"a\": 1}\n\u001E\u001E[2]\n\u001Etrue\n");
+		assertEquals(List.of(Json.createObjectBuilder().add("a", 1).build(), Json.createArrayBuilder().add(2).build(), JsonValue.TRUE), records);
+	}
+
+	@Test
+	void empty() {
+		assertEquals(List.of(), records(" \n"));
+	}
+
+	@Test
+	void missingNewline() {
+		assertThrows(JsonParsingException.class, () -> records("{\"a\": 1} {\"b\": 2}\n"));
+	}
+
+	@Test
+	void parallel() {
+		final String text = createLog(50000);
+		final List<JsonValue> expected = records(text);
+		assertEquals(50000, expected.size());
+
+		final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		final MyrJsonTextParser parser = (MyrJsonTextParser) FACTORY.createParser(bytes, 0, bytes.length);
+		assertEquals(expected, parser.getRecordStream().parallel().collect(Collectors.toList()));
+
+		final MyrJsonTextParser chars = (MyrJsonTextParser) FACTORY.createParser(text);
+		assertEquals(expected, chars.getRecordStream().parallel().collect(Collectors.toList()));
+
+		final MyrJsonTextParser stream = (MyrJsonTextParser) FACTORY.createParser(new ByteArrayInputStream(bytes));
+		assertEquals(expected, stream.getRecordStream().parallel().collect(Collectors.toList()));
+	}
+
+	@Test
+	void parallelTextSequence() {
+		final String text = createLog(20000).replace("{\"seq\"", "\u001E{\"seq\"");
+		final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		final MyrJsonTextParser parser = (MyrJsonTextParser) FACTORY.createParser(bytes, 0, bytes.length);
+		assertEquals(records(text), parser.getRecordStream().parallel().collect(Collectors.toList()));
+	}
+}
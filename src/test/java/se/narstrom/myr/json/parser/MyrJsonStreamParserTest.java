@@ -1,26 +1,271 @@
 package se.narstrom.myr.json.parser;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.Reader;
 import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
 import jakarta.json.Json;
+import jakarta.json.stream.JsonLocation;
 import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
 import jakarta.json.stream.JsonParsingException;
+import se.narstrom.myr.json.MyrJsonConfig;
+import se.narstrom.myr.json.MyrJsonContext;
+import se.narstrom.myr.json.MyrJsonProvider;
 
 final class MyrJsonStreamParserTest {
 
+	@Test
+	void charSequence() {
+		final JsonParser parser = new MyrJsonProvider().createParser(new StringBuilder("{\"a\": \"b\"}"));
+		assertEquals(Event.START_OBJECT, parser.next());
+		assertEquals(Event.KEY_NAME, parser.next());
+		assertEquals("a", parser.getString());
+		assertEquals(Event.VALUE_STRING, parser.next());
+		assertEquals("b", parser.getString());
+		assertEquals(Event.END_OBJECT, parser.next());
+		assertFalse(parser.hasNext());
+	}
+
+	@Test
+	void escapedStringAcrossBuffers() {
+		final String value = "x".repeat(5000) + "\"\n\u00e5" + "y".repeat(5000);
+		final JsonParser parser = Json.createParser(new StringReader("\"" + "x".repeat(5000) + "\\\"\\n\\u00e5" + "y".repeat(5000) + "\""));
+		assertEquals(Event.VALUE_STRING, parser.next());
+		assertEquals(value, parser.getString());
+	}
+
 	@Test
 	void invalidNumber() {
 		final JsonParser parser = Json.createParser(new StringReader("1e-lol"));
 		assertThrows(JsonParsingException.class, () -> parser.next());
 	}
 
+	@Test
+	void invalidNumberFraction() {
+		final JsonParser parser = Json.createParser(new StringReader("1."));
+		assertThrows(JsonParsingException.class, () -> parser.next());
+	}
+
+	@Test
+	void numbers() {
+		final JsonParser parser = Json.createParser(new StringReader("[-9223372036854775808, 9223372036854775808, 1.0, 10e0, 1e2, -0]"));
+		assertEquals(Event.START_ARRAY, parser.next());
+
+		assertEquals(Event.VALUE_NUMBER, parser.next());
+		assertTrue(parser.isIntegralNumber());
+		assertEquals(Long.MIN_VALUE, parser.getLong());
+		assertEquals(0, parser.getInt());
+
+		assertEquals(Event.VALUE_NUMBER, parser.next());
+		assertTrue(parser.isIntegralNumber());
+		assertEquals(new BigDecimal("9223372036854775808").longValue(), parser.getLong());
+		assertEquals(new BigDecimal("9223372036854775808"), parser.getBigDecimal());
+
+		assertEquals(Event.VALUE_NUMBER, parser.next());
+		assertFalse(parser.isIntegralNumber());
+		assertEquals(1, parser.getInt());
+
+		assertEquals(Event.VALUE_NUMBER, parser.next());
+		assertTrue(parser.isIntegralNumber());
+		assertEquals(10, parser.getInt());
+
+		assertEquals(Event.VALUE_NUMBER, parser.next());
+		assertFalse(parser.isIntegralNumber());
+		assertEquals(100L, parser.getLong());
+
+		assertEquals(Event.VALUE_NUMBER, parser.next());
+		assertTrue(parser.isIntegralNumber());
+		assertEquals(0, parser.getInt());
+		assertEquals(BigDecimal.ZERO, parser.getBigDecimal());
+
+		assertEquals(Event.END_ARRAY, parser.next());
+	}
+
 	@Test
 	void invalidStringUnicodeEscapeSequence() {
 		final JsonParser parser = Json.createParser(new StringReader("\"\\uloli"));
 		assertThrows(JsonParsingException.class, () -> parser.next());
 	}
+
+	@Test
+	void stringLongerThanBuffer() {
+		final String value = "x".repeat(10000);
+		final JsonParser parser = Json.createParser(new StringReader("[\"" + value + "\"]"));
+		assertEquals(Event.START_ARRAY, parser.next());
+		assertEquals(Event.VALUE_STRING, parser.next());
+		assertEquals(value, parser.getString());
+		assertEquals(Event.END_ARRAY, parser.next());
+	}
+
+	@Test
+	void locationColumns() {
+		final JsonParser parser = Json.createParser(new StringReader("{\"ab\": [10,\n\ttrue]}"));
+		final List<String> locations = new ArrayList<>();
+		while (parser.hasNext()) {
+			final Event event = parser.next();
+			final JsonLocation location = parser.getLocation();
+			locations.add(event + "@" + location.getLineNumber() + ":" + location.getColumnNumber() + ":" + location.getStreamOffset());
+		}
+		assertEquals(List.of("START_OBJECT@1:1:0", "KEY_NAME@1:2:1", "START_ARRAY@1:8:7", "VALUE_NUMBER@1:9:8", "VALUE_TRUE@2:2:13", "END_ARRAY@2:6:17", "END_OBJECT@2:7:18"), locations);
+	}
+
+	@Test
+	void errorLocationPastFirstBuffer() {
+		final String text = "[\n" + "1,\n".repeat(2000) + "x]";
+		final JsonParser parser = Json.createParser(new StringReader(text));
+		final JsonParsingException ex = assertThrows(JsonParsingException.class, () -> {
+			while (parser.hasNext())
+				parser.next();
+		});
+		assertEquals(2002, ex.getLocation().getLineNumber());
+		assertEquals(1, ex.getLocation().getColumnNumber());
+
+		final JsonParsingException fromReader = assertThrows(JsonParsingException.class, () -> Json.createReader(new StringReader(text)).readArray());
+		assertEquals(2002, fromReader.getLocation().getLineNumber());
+		assertEquals(1, fromReader.getLocation().getColumnNumber());
+	}
+
+	@Test
+	void locationAcrossBuffers() {
+		final String padding = " ".repeat(5000);
+		final JsonParser parser = Json.createParser(new StringReader("[\n" + padding + "1,\n  true" + padding + "\n]"));
+		assertEquals(Event.START_ARRAY, parser.next());
+		assertEquals(Event.VALUE_NUMBER, parser.next());
+		final JsonLocation number = parser.getLocation();
+		assertEquals(2, number.getLineNumber());
+		assertEquals(5001, number.getColumnNumber());
+		assertEquals(5002, number.getStreamOffset());
+		assertEquals(Event.VALUE_TRUE, parser.next());
+		assertEquals(Event.END_ARRAY, parser.next());
+		final JsonLocation end = parser.getLocation();
+		assertEquals(4, end.getLineNumber());
+		assertEquals(1, end.getColumnNumber());
+		assertEquals(10012, end.getStreamOffset());
+	}
+
+	@Test
+	void maxDepth() {
+		final MyrJsonContext context = new MyrJsonContext(Map.of(MyrJsonConfig.MAX_DEPTH, 3));
+		final JsonParser ok = new MyrJsonStreamParser("[{\"a\": [1]}]", context);
+		while (ok.hasNext())
+			ok.next();
+
+		final JsonParser parser = new MyrJsonStreamParser("[{\"a\": [[1]]}]", context);
+		assertEquals(Event.START_ARRAY, parser.next());
+		assertEquals(Event.START_OBJECT, parser.next());
+		assertEquals(Event.KEY_NAME, parser.next());
+		assertEquals(Event.START_ARRAY, parser.next());
+		assertThrows(JsonParsingException.class, () -> parser.next());
+	}
+
+	@Test
+	void deepNesting() {
+		final int depth = 200;
+		final JsonParser parser = Json.createParser(new StringReader("[".repeat(depth) + "]".repeat(depth)));
+		for (int i = 0; i < depth; ++i)
+			assertEquals(Event.START_ARRAY, parser.next());
+		for (int i = 0; i < depth; ++i)
+			assertEquals(Event.END_ARRAY, parser.next());
+		assertFalse(parser.hasNext());
+	}
+
+	@Test
+	void skipArrayAndObject() {
+		final JsonParser parser = Json.createParser(new StringReader("{\"skip\": [1, {\"a\": \"]}[{\\\"\\\\\"}, [[], \"x\"]], \"keep\": {\"b\": [\"}\"], \"c\": 2}, \"last\": true}"));
+		assertEquals(Event.START_OBJECT, parser.next());
+		assertEquals(Event.KEY_NAME, parser.next());
+		assertEquals(Event.START_ARRAY, parser.next());
+		assertEquals(Event.VALUE_NUMBER, parser.next());
+		parser.skipArray();
+		assertEquals(Event.END_ARRAY, parser.currentEvent());
+		assertEquals(Event.KEY_NAME, parser.next());
+		assertEquals("keep", parser.getString());
+		assertEquals(Event.START_OBJECT, parser.next());
+		parser.skipObject();
+		assertEquals(Event.END_OBJECT, parser.currentEvent());
+		assertEquals(Event.KEY_NAME, parser.next());
+		assertEquals("last", parser.getString());
+		assertEquals(Event.VALUE_TRUE, parser.next());
+		assertEquals(Event.END_OBJECT, parser.next());
+		assertFalse(parser.hasNext());
+	}
+
+	@Test
+	void reset() {
+		final MyrJsonStreamParser parser = new MyrJsonStreamParser(new StringReader("[1, {\"a\": "), new MyrJsonContext(Map.of()));
+		assertEquals(Event.START_ARRAY, parser.next());
+		assertEquals(Event.VALUE_NUMBER, parser.next());
+		assertEquals(Event.START_OBJECT, parser.next());
+
+		parser.reset(new StringReader("\n {\"b\": true}"));
+		assertEquals(Event.START_OBJECT, parser.next());
+		assertEquals(Event.KEY_NAME, parser.next());
+		assertEquals("b", parser.getString());
+		final JsonLocation location = parser.getLocation();
+		assertEquals(2, location.getLineNumber());
+		assertEquals(3, location.getColumnNumber());
+		assertEquals(Event.VALUE_TRUE, parser.next());
+		assertEquals(Event.END_OBJECT, parser.next());
+		assertFalse(parser.hasNext());
+		parser.close();
+
+		parser.reset("[]");
+		assertEquals(Event.START_ARRAY, parser.next());
+		assertEquals(Event.END_ARRAY, parser.next());
+		assertFalse(parser.hasNext());
+	}
+
+	@Test
+	void resetAfterFailedReadTree() {
+		final boolean[] closed = new boolean[1];
+		final Reader in = new StringReader("[1, {\"a\": 2, ") {
+			@Override
+			public void close() {
+				closed[0] = true;
+				super.close();
+			}
+		};
+		final MyrJsonStreamParser parser = new MyrJsonStreamParser(in, new MyrJsonContext(Map.of()));
+		assertThrows(JsonParsingException.class, parser::readTree);
+		assertEquals(0, parser.tree().mark());
+
+		parser.reset("[3]");
+		assertTrue(closed[0]);
+		assertEquals(Json.createArrayBuilder().add(3).build(), parser.readTree());
+	}
+
+	@Test
+	void stringView() {
+		final MyrJsonStreamParser parser = new MyrJsonStreamParser(new StringReader("{\"route\": \"eu-north\", \"escaped\": \"a\\tb\"}"), new MyrJsonContext(Map.of()));
+		assertEquals(Event.START_OBJECT, parser.next());
+		assertEquals(Event.KEY_NAME, parser.next());
+		assertTrue(parser.contentEquals("route"));
+		assertEquals(Event.VALUE_STRING, parser.next());
+		final CharSequence view = parser.getCharSequence();
+		assertEquals(8, view.length());
+		assertEquals('-', view.charAt(2));
+		assertEquals("north", view.subSequence(3, 8));
+		assertTrue(parser.contentEquals("eu-north"));
+		assertFalse(parser.contentEquals("eu-south"));
+		assertFalse(parser.contentEquals("eu"));
+		assertTrue(parser.regionMatches(3, "north", 0, 5));
+		assertFalse(parser.regionMatches(4, "north", 0, 5));
+		assertEquals("eu-north", parser.getString());
+		assertEquals(Event.KEY_NAME, parser.next());
+		assertEquals(Event.VALUE_STRING, parser.next());
+		assertTrue(parser.contentEquals("a\tb"));
+		assertEquals(Event.END_OBJECT, parser.next());
+		assertThrows(IllegalStateException.class, () -> parser.getCharSequence());
+	}
 }
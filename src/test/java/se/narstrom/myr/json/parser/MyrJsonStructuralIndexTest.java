@@ -0,0 +1,99 @@
+package se.narstrom.myr.json.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import se.narstrom.myr.json.MyrJsonConfig;
+import se.narstrom.myr.json.MyrJsonContext;
+
+final class MyrJsonStructuralIndexTest {
+
+	private static List<String> events(final JsonParser parser) {
+		final List<String> events = new ArrayList<>();
+		while (parser.hasNext()) {
+			final Event event = parser.next();
+			events.add(switch (event) {
+				case KEY_NAME, VALUE_STRING -> event + ":" + parser.getString() + "@" + parser.getLocation().getStreamOffset();
+				case VALUE_NUMBER -> event + ":" + parser.getLong() + "@" + parser.getLocation().getStreamOffset();
+				default -> event + "@" + parser.getLocation().getStreamOffset();
+			});
+		}
+		return events;
+	}
+
+	private static void assertIndex(final MyrJsonStructuralIndex index, final byte[] bytes) {
+		index.reset(ByteBuffer.wrap(bytes).asReadOnlyBuffer(), bytes.length);
+		for (int from = 0; from < bytes.length; ++from) {
+			int nonWhitespace = from;
+			while (nonWhitespace < bytes.length && (bytes[nonWhitespace] == ' ' || bytes[nonWhitespace] == '\n' || bytes[nonWhitespace] == '\r' || bytes[nonWhitespace] == '\t'))
+				++nonWhitespace;
+			int quote = from;
+			while (quote < bytes.length && bytes[quote] != '"' && bytes[quote] != '\\')
+				++quote;
+			boolean ascii = true;
+			for (int i = from; i < quote; ++i)
+				ascii &= bytes[i] >= 0;
+
+			assertEquals(nonWhitespace, index.nextNonWhitespace(from));
+			assertEquals(quote, index.nextQuoteOrEscape(from));
+			assertEquals(ascii, index.isAscii(from, quote));
+		}
+	}
+
+	@Test
+	void classifiers() {
+		final Random random = new Random(4711);
+		final byte[] alphabet = " \n\r\t\"\\{}[]:,abc\u00e5".getBytes(StandardCharsets.UTF_8);
+		final byte[] bytes = new byte[40000];
+		for (int i = 0; i < bytes.length; ++i)
+			bytes[i] = random.nextInt(8) == 0 ? alphabet[random.nextInt(alphabet.length)] : (byte) ' ';
+
+		assertIndex(new MyrJsonStructuralIndex(), bytes);
+		assertIndex(new MyrJsonStructuralIndex(MyrJsonStructuralIndex.Classifier.SCALAR), bytes);
+	}
+
+	@Test
+	void vectorized() {
+		assertEquals(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(), MyrJsonStructuralIndex.isVectorized());
+	}
+
+	@Test
+	void sameEvents() {
+		final StringBuilder sb = new StringBuilder("{\"items\": [\n");
+		for (int i = 0; i < 2000; ++i)
+			sb.append("  {\"id\": ").append(i).append(", \"name\": \"n\u00e4me \\\"").append(i).append("\\\"\",\t\"tags\": [true, null, \"\u20ac\"]},\r\n");
+		sb.append("  {}\n]}");
+		final byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+		final MyrJsonContext plain = new MyrJsonContext(Map.of());
+		final MyrJsonContext indexed = new MyrJsonContext(Map.of(MyrJsonConfig.STRUCTURAL_INDEX, true));
+		final List<String> expected = events(new MyrJsonUtf8Parser(ByteBuffer.wrap(bytes), plain));
+		assertEquals(expected, events(new MyrJsonUtf8Parser(ByteBuffer.wrap(bytes), indexed)));
+		assertEquals(expected, events(new MyrJsonUtf8Parser(ByteBuffer.allocateDirect(bytes.length).put(bytes).flip(), indexed)));
+		assertEquals(expected, events(new MyrJsonUtf8Parser(new ByteArrayInputStream(bytes), indexed)));
+	}
+
+	@Test
+	void skipArray() {
+		final String text = "[[\"" + "\\\"]".repeat(10000) + "\", {\"a\": \"[\"}], 17]";
+		final MyrJsonContext indexed = new MyrJsonContext(Map.of(MyrJsonConfig.STRUCTURAL_INDEX, true));
+		final JsonParser parser = new MyrJsonUtf8Parser(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)), indexed);
+		assertEquals(Event.START_ARRAY, parser.next());
+		assertEquals(Event.START_ARRAY, parser.next());
+		parser.skipArray();
+		assertEquals(Event.VALUE_NUMBER, parser.next());
+		assertEquals(17, parser.getInt());
+		assertEquals(Event.END_ARRAY, parser.next());
+	}
+}
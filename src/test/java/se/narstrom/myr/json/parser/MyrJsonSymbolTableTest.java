@@ -0,0 +1,35 @@
+package se.narstrom.myr.json.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import se.narstrom.myr.json.MyrJsonConfig;
+import se.narstrom.myr.json.MyrJsonContext;
+import se.narstrom.myr.json.factory.MyrJsonParserFactory;
+
+final class MyrJsonSymbolTableTest {
+
+	private static String firstKey(final JsonParser parser) {
+		assertEquals(Event.START_OBJECT, parser.next());
+		assertEquals(Event.KEY_NAME, parser.next());
+		return parser.getString();
+	}
+
+	@Test
+	void sharedKeys() {
+		final MyrJsonParserFactory factory = new MyrJsonParserFactory(new MyrJsonContext(Map.of(MyrJsonConfig.SYMBOL_TABLE_SIZE, 64)));
+		final byte[] bytes = "{\"tenant\": 1}".getBytes(StandardCharsets.UTF_8);
+
+		final String first = firstKey(factory.createParser("{\"tenant\": 1}"));
+		assertEquals("tenant", first);
+		assertSame(first, firstKey(factory.createParser("{\"tenant\": 2}")));
+		assertSame(first, firstKey(factory.createParser(bytes, 0, bytes.length)));
+	}
+}
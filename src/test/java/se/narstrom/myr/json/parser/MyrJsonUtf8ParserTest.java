@@ -0,0 +1,262 @@
+package se.narstrom.myr.json.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jakarta.json.Json;
+import jakarta.json.stream.JsonLocation;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import jakarta.json.stream.JsonParsingException;
+import se.narstrom.myr.json.MyrJsonContext;
+import se.narstrom.myr.json.MyrJsonProvider;
+import se.narstrom.myr.json.factory.MyrJsonParserFactory;
+
+final class MyrJsonUtf8ParserTest {
+
+	private static JsonParser parser(final byte[] bytes) {
+		return new MyrJsonUtf8Parser(new ByteArrayInputStream(bytes), new MyrJsonContext(Map.of()));
+	}
+
+	private static JsonParser parser(final String text) {
+		return parser(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void multiByteString() {
+		final JsonParser parser = parser("[\"räksmörgås € 😀\"]");
+		assertEquals(Event.START_ARRAY, parser.next());
+		assertEquals(Event.VALUE_STRING, parser.next());
+		assertEquals("räksmörgås € 😀", parser.getString());
+	}
+
+	@Test
+	void escapedStringAcrossBuffers() {
+		final String value = "x".repeat(10000) + "å\n" + "y".repeat(10000);
+		final JsonParser parser = parser("\"" + value.replace("\n", "\\n") + "\"");
+		assertEquals(Event.VALUE_STRING, parser.next());
+		assertEquals(value, parser.getString());
+	}
+
+	@Test
+	void mappedFile(@TempDir final Path dir) throws IOException {
+		final Path file = dir.resolve("test.json");
+		Files.writeString(file, "{\"key\": [\"v\u00e4rde\", 17]}");
+
+		try (final JsonParser parser = new MyrJsonParserFactory(new MyrJsonContext(Map.of())).createParser(file)) {
+			assertEquals(Event.START_OBJECT, parser.next());
+			assertEquals(Event.KEY_NAME, parser.next());
+			assertEquals("key", parser.getString());
+			assertEquals(Event.START_ARRAY, parser.next());
+			assertEquals(Event.VALUE_STRING, parser.next());
+			assertEquals("v\u00e4rde", parser.getString());
+			assertEquals(Event.VALUE_NUMBER, parser.next());
+			assertEquals(17, parser.getInt());
+			assertEquals(Event.END_ARRAY, parser.next());
+			assertEquals(Event.END_OBJECT, parser.next());
+		}
+	}
+
+	@Test
+	void byteArraySlice() {
+		final byte[] bytes = "garbage[true, null]garbage".getBytes(StandardCharsets.UTF_8);
+		final JsonParser parser = new MyrJsonProvider().createParser(bytes, 7, 12);
+		assertEquals(Event.START_ARRAY, parser.next());
+		assertEquals(Event.VALUE_TRUE, parser.next());
+		assertEquals(Event.VALUE_NULL, parser.next());
+		assertEquals(Event.END_ARRAY, parser.next());
+		assertFalse(parser.hasNext());
+	}
+
+	@Test
+	void invalidUtf8() {
+		final JsonParser parser = parser(new byte[] { '"', (byte) 0xC3, (byte) 0x28, '"' });
+		assertThrows(JsonParsingException.class, () -> parser.next());
+	}
+
+	@Test
+	void overlongUtf8() {
+		final JsonParser parser = parser(new byte[] { '"', (byte) 0xC0, (byte) 0xAF, '"' });
+		assertThrows(JsonParsingException.class, () -> parser.next());
+	}
+
+	@Test
+	void locationCountsCharacters() {
+		final JsonParser parser = parser("[\"åäö\",\n \"€\", x]");
+		assertEquals(Event.START_ARRAY, parser.next());
+		assertEquals(Event.VALUE_STRING, parser.next());
+		assertEquals(Event.VALUE_STRING, parser.next());
+		final JsonLocation location = parser.getLocation();
+		assertEquals(2, location.getLineNumber());
+		assertEquals(2, location.getColumnNumber());
+		assertEquals(12, location.getStreamOffset());
+		final JsonParsingException ex = assertThrows(JsonParsingException.class, () -> parser.next());
+		assertEquals(2, ex.getLocation().getLineNumber());
+		assertEquals(7, ex.getLocation().getColumnNumber());
+	}
+
+	@Test
+	void errorLocationPastFirstBuffer() {
+		final JsonParser parser = parser("[\n" + "\"\u00e5\",\n".repeat(2000) + "  x]");
+		final JsonParsingException ex = assertThrows(JsonParsingException.class, () -> {
+			while (parser.hasNext())
+				parser.next();
+		});
+		assertEquals(2002, ex.getLocation().getLineNumber());
+		assertEquals(3, ex.getLocation().getColumnNumber());
+	}
+
+	@Test
+	void skipArrayAndObject() {
+		final JsonParser parser = parser("{\"skip\": [1, {\"a\": \"]}[{\\\"\\\\\"}, [[], \"x\"]], \"keep\": {\"b\": [\"}\"], \"c\": 2}, \"last\": true}");
+		assertEquals(Event.START_OBJECT, parser.next());
+		assertEquals(Event.KEY_NAME, parser.next());
+		assertEquals(Event.START_ARRAY, parser.next());
+		assertEquals(Event.VALUE_NUMBER, parser.next());
+		parser.skipArray();
+		assertEquals(Event.END_ARRAY, parser.currentEvent());
+		assertEquals(Event.KEY_NAME, parser.next());
+		assertEquals("keep", parser.getString());
+		assertEquals(Event.START_OBJECT, parser.next());
+		parser.skipObject();
+		assertEquals(Event.END_OBJECT, parser.currentEvent());
+		assertEquals(Event.KEY_NAME, parser.next());
+		assertEquals("last", parser.getString());
+		assertEquals(Event.VALUE_TRUE, parser.next());
+		assertEquals(Event.END_OBJECT, parser.next());
+		assertFalse(parser.hasNext());
+	}
+
+	@Test
+	void pushParser() {
+		final byte[] bytes = "{\"k\u00e9y\": [\"v\u00e4rde \\u00e5\", -12.5e3, true, null, {}],\n \"n\": 42}".getBytes(StandardCharsets.UTF_8);
+
+		final List<String> expected = new ArrayList<>();
+		final JsonParser reference = parser(bytes);
+		while (reference.hasNext()) {
+			final Event event = reference.next();
+			expected.add(event + (event == Event.KEY_NAME || event == Event.VALUE_STRING ? ":" + reference.getString() : "") + "@" + reference.getLocation());
+		}
+
+		final MyrJsonUtf8Parser parser = new MyrJsonProvider().createPushParser();
+		final List<String> actual = new ArrayList<>();
+		for (int i = 0; i <= bytes.length; ++i) {
+			if (i == bytes.length)
+				parser.endOfInput();
+			else
+				parser.feed(ByteBuffer.wrap(bytes, i, 1));
+
+			Event event;
+			while (parser.hasNext() && (event = parser.tryNext()) != null)
+				actual.add(event + (event == Event.KEY_NAME || event == Event.VALUE_STRING ? ":" + parser.getString() : "") + "@" + parser.getLocation());
+		}
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	void pushParserNumberNeedsEndOfInput() {
+		final MyrJsonUtf8Parser parser = new MyrJsonProvider().createPushParser();
+		parser.feed(ByteBuffer.wrap("12".getBytes(StandardCharsets.UTF_8)));
+		assertNull(parser.tryNext());
+		assertTrue(parser.needsInput());
+		parser.feed(ByteBuffer.wrap("34".getBytes(StandardCharsets.UTF_8)));
+		assertFalse(parser.needsInput());
+		assertNull(parser.tryNext());
+		parser.endOfInput();
+		assertEquals(Event.VALUE_NUMBER, parser.tryNext());
+		assertFalse(parser.needsInput());
+		assertEquals(1234, parser.getInt());
+		assertFalse(parser.hasNext());
+	}
+
+	@Test
+	void pushParserNextNeverReturnsNull() {
+		final MyrJsonUtf8Parser parser = new MyrJsonProvider().createPushParser();
+		parser.feed(ByteBuffer.wrap("[1, {\"a\": ".getBytes(StandardCharsets.UTF_8)));
+		assertEquals(Event.START_ARRAY, parser.next());
+		assertEquals(Event.VALUE_NUMBER, parser.next());
+		assertThrows(IllegalStateException.class, parser::skipArray);
+		assertEquals(Event.START_OBJECT, parser.next());
+		assertEquals(Event.KEY_NAME, parser.next());
+		assertThrows(IllegalStateException.class, parser::next);
+		assertTrue(parser.hasNext());
+		parser.feed(ByteBuffer.wrap("true}]".getBytes(StandardCharsets.UTF_8)));
+		parser.endOfInput();
+		assertEquals(Event.VALUE_TRUE, parser.next());
+		assertEquals(Event.END_OBJECT, parser.next());
+		assertEquals(Event.END_ARRAY, parser.next());
+		assertFalse(parser.hasNext());
+	}
+
+	@Test
+	void reset() {
+		final MyrJsonUtf8Parser parser = (MyrJsonUtf8Parser) parser("{\"a\": [1, ");
+		assertEquals(Event.START_OBJECT, parser.next());
+		assertEquals(Event.KEY_NAME, parser.next());
+		assertEquals(Event.START_ARRAY, parser.next());
+
+		parser.reset(new ByteArrayInputStream("[\"\u00e5\", 2]".getBytes(StandardCharsets.UTF_8)));
+		assertEquals(Event.START_ARRAY, parser.next());
+		assertEquals(Event.VALUE_STRING, parser.next());
+		assertEquals("\u00e5", parser.getString());
+		assertEquals(Event.VALUE_NUMBER, parser.next());
+		assertEquals(7, parser.getLocation().getColumnNumber());
+		assertEquals(Event.END_ARRAY, parser.next());
+		assertFalse(parser.hasNext());
+		parser.close();
+
+		parser.reset(ByteBuffer.wrap("true".getBytes(StandardCharsets.UTF_8)));
+		assertEquals(Event.VALUE_TRUE, parser.next());
+		assertFalse(parser.hasNext());
+	}
+
+	@Test
+	void resetAfterFailedReadTree() {
+		final boolean[] closed = new boolean[1];
+		final InputStream in = new ByteArrayInputStream("{\"a\": [1, 2".getBytes(StandardCharsets.UTF_8)) {
+			@Override
+			public void close() {
+				closed[0] = true;
+			}
+		};
+		final MyrJsonUtf8Parser parser = new MyrJsonUtf8Parser(in, new MyrJsonContext(Map.of()));
+		assertThrows(JsonParsingException.class, parser::readTree);
+		assertEquals(0, parser.tree().mark());
+
+		parser.reset(ByteBuffer.wrap("[3]".getBytes(StandardCharsets.UTF_8)));
+		assertTrue(closed[0]);
+		assertEquals(Json.createArrayBuilder().add(3).build(), parser.readTree());
+	}
+
+	@Test
+	void stringView() {
+		final MyrJsonUtf8Parser parser = (MyrJsonUtf8Parser) parser("[\"eu-north\", \"r\u00e4v\", \"a\\nb\"]");
+		assertEquals(Event.START_ARRAY, parser.next());
+		assertEquals(Event.VALUE_STRING, parser.next());
+		assertEquals('n', parser.getCharSequence().charAt(3));
+		assertTrue(parser.contentEquals("eu-north"));
+		assertTrue(parser.regionMatches(0, "eu-", 0, 3));
+		assertEquals(Event.VALUE_STRING, parser.next());
+		assertTrue(parser.contentEquals("r\u00e4v"));
+		assertEquals(Event.VALUE_STRING, parser.next());
+		assertTrue(parser.contentEquals("a\nb"));
+		assertEquals("a\nb", parser.getString());
+	}
+}
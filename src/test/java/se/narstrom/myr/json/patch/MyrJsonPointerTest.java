@@ -0,0 +1,69 @@
+package se.narstrom.myr.json.patch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.Json;
+import jakarta.json.JsonException;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import se.narstrom.myr.json.MyrJsonContext;
+import se.narstrom.myr.json.factory.MyrJsonParserFactory;
+
+final class MyrJsonPointerTest {
+	private static final String TEXT = "{\"data\": [{\"meta\": 1}, \"}\"], \"meta\": {\"a/b\": [true, {\"x\": null}, {\"tenantId\": \"t1\"}], \"tenantId\": \"t0\"}, \"tail\": ";
+
+	private static final MyrJsonContext CONTEXT = new MyrJsonContext(Map.of());
+
+	private static final MyrJsonParserFactory FACTORY = new MyrJsonParserFactory(CONTEXT);
+
+	private static MyrJsonPointer pointer(final String pointer) {
+		return new MyrJsonPointer(pointer, CONTEXT);
+	}
+
+	@Test
+	void streamParser() {
+		assertEquals(Json.createValue("t0"), pointer("/meta/tenantId").getValue(FACTORY.createParser(new StringReader(TEXT))));
+		assertEquals(Json.createValue("t1"), pointer("/meta/a~1b/2/tenantId").getValue(FACTORY.createParser(TEXT)));
+	}
+
+	@Test
+	void utf8Parser() {
+		final byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+		assertEquals(Json.createObjectBuilder().add("x", JsonValue.NULL).build(), pointer("/meta/a~1b/1").getValue(FACTORY.createParser(bytes, 0, bytes.length)));
+	}
+
+	@Test
+	void missing() {
+		assertThrows(JsonException.class, () -> pointer("/meta/a~1b/3").getValue(FACTORY.createParser("{\"meta\": {\"a/b\": [1, 2, 3]}}")));
+		assertThrows(JsonException.class, () -> pointer("/meta/x").getValue(FACTORY.createParser("{\"meta\": {\"a\": 1}}")));
+		assertThrows(JsonException.class, () -> pointer("/0/a").getValue(FACTORY.createParser("[1]")));
+	}
+
+	@Test
+	void currentValue() {
+		final JsonParser parser = FACTORY.createParser("[{\"a\": 1}, {\"a\": 2, \"b\": 3}]");
+		assertEquals(Event.START_ARRAY, parser.next());
+		assertEquals(Event.START_OBJECT, parser.next());
+		parser.skipObject();
+		assertEquals(Event.START_OBJECT, parser.next());
+		assertEquals(Json.createValue(2), pointer("/a").getValue(parser));
+		assertEquals(Event.KEY_NAME, parser.next());
+		assertEquals("b", parser.getString());
+	}
+
+	@Test
+	void treeParser() {
+		final JsonObject object = Json.createReader(new StringReader("{\"a\": {\"b\": [0, 1]}}")).readObject();
+		assertEquals(Json.createValue(1), pointer("/a/b/1").getValue(FACTORY.createParser(object)));
+		assertEquals(object, pointer("").getValue(FACTORY.createParser(object)));
+	}
+}
@@ -0,0 +1,122 @@
+package se.narstrom.myr.json.value;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonConfig;
+import jakarta.json.JsonException;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+import se.narstrom.myr.json.MyrJsonContext;
+import se.narstrom.myr.json.factory.MyrJsonBuilderFactory;
+import se.narstrom.myr.json.factory.MyrJsonReaderFactory;
+
+final class MyrJsonObjectTest {
+	private static JsonObject build(final MyrJsonContext context, final int size, final String... extraKeys) {
+		final MyrJsonTreeBuilder tree = new MyrJsonTreeBuilder(context);
+		final int mark = tree.mark();
+		for (int i = 0; i < size; ++i)
+			tree.add("k" + i, Json.createValue(i));
+		for (int i = 0; i < extraKeys.length; ++i)
+			tree.add(extraKeys[i], Json.createValue(-i));
+		return tree.buildObject(mark);
+	}
+
+	@Test
+	void mapSemantics() {
+		for (final int size : new int[] { 0, 1, 8, 9, 100 }) {
+			final JsonObject object = build(new MyrJsonContext(Map.of()), size);
+			final Map<String, JsonValue> expected = new LinkedHashMap<>();
+			for (int i = 0; i < size; ++i)
+				expected.put("k" + i, Json.createValue(i));
+
+			assertEquals(expected, object);
+			assertEquals(object, expected);
+			assertEquals(expected.hashCode(), object.hashCode());
+			assertEquals(List.copyOf(expected.keySet()), List.copyOf(object.keySet()));
+			assertEquals(List.copyOf(expected.values()), List.copyOf(object.values()));
+			assertEquals(size, object.size());
+			assertEquals(size == 0, object.isEmpty());
+			for (int i = 0; i < size; ++i) {
+				assertTrue(object.containsKey("k" + i));
+				assertEquals(i, object.getInt("k" + i));
+			}
+			assertFalse(object.containsKey("k" + size));
+			assertFalse(object.containsKey(1));
+			assertNull(object.get("k" + size));
+			assertNull(object.get(null));
+			assertThrows(UnsupportedOperationException.class, () -> object.put("x", JsonValue.NULL));
+			assertThrows(UnsupportedOperationException.class, () -> object.remove("k0"));
+			if (size > 0) {
+				final Iterator<Map.Entry<String, JsonValue>> iterator = object.entrySet().iterator();
+				iterator.next();
+				assertThrows(UnsupportedOperationException.class, iterator::remove);
+			}
+		}
+	}
+
+	@Test
+	void duplicateKeys() {
+		for (final int size : new int[] { 2, 20 }) {
+			final JsonObject last = build(new MyrJsonContext(Map.of()), size, "k1", "z", "k0");
+			assertEquals(size + 1, last.size());
+			assertEquals(0, last.getInt("k1") + last.getInt("k0") + 2);
+			assertEquals(List.of("k0", "k1"), new ArrayList<>(last.keySet()).subList(0, 2));
+
+			final JsonObject first = build(new MyrJsonContext(Map.of(JsonConfig.KEY_STRATEGY, JsonConfig.KeyStrategy.FIRST)), size, "k1", "z", "k0");
+			assertEquals(size + 1, first.size());
+			assertEquals(1, first.getInt("k1"));
+			assertEquals(0, first.getInt("k0"));
+
+			assertThrows(JsonException.class, () -> build(new MyrJsonContext(Map.of(JsonConfig.KEY_STRATEGY, JsonConfig.KeyStrategy.NONE)), size, "k1"));
+		}
+	}
+
+	@Test
+	void sharedShapes() {
+		final MyrJsonContext context = new MyrJsonContext(Map.of());
+		final String text = "[{\"id\": 1, \"name\": \"a\", \"ts\": 3}, {\"id\": 2, \"name\": \"b\", \"ts\": 4}, {\"id\": 3, \"ts\": 5, \"name\": \"c\"}, {\"id\": 4, \"name\": \"d\", \"name\": \"e\", \"ts\": 6}]";
+		final JsonArray array = new MyrJsonReaderFactory(context).createReader(new StringReader(text)).readArray();
+		final MyrJsonShape shape = ((MyrJsonObject) array.get(0)).getShape();
+		assertEquals(3, shape.size());
+		assertEquals("ts", shape.key(2));
+		assertEquals(1, shape.position("name"));
+		assertEquals(-1, shape.position("nope"));
+		assertSame(shape, ((MyrJsonObject) array.get(1)).getShape());
+		assertNotSame(shape, ((MyrJsonObject) array.get(2)).getShape());
+		assertSame(shape, ((MyrJsonObject) array.get(3)).getShape());
+		assertEquals("e", array.getJsonObject(3).getString("name"));
+		assertEquals(List.of("id", "ts", "name"), List.copyOf(array.getJsonObject(2).keySet()));
+
+		final JsonObject built = new MyrJsonBuilderFactory(context).createObjectBuilder().add("id", 9).add("name", "z").add("ts", 0).build();
+		assertSame(shape, ((MyrJsonObject) built).getShape());
+		assertEquals("z", built.getString("name"));
+	}
+
+	@Test
+	void largeShapes() {
+		final MyrJsonContext context = new MyrJsonContext(Map.of());
+		for (final int size : new int[] { 20, 100 }) {
+			final MyrJsonShape shape = ((MyrJsonObject) build(context, size)).getShape();
+			for (int i = 0; i < size; ++i)
+				assertEquals(i, shape.position("k" + i));
+			assertEquals(size <= 64, shape == ((MyrJsonObject) build(context, size)).getShape());
+		}
+	}
+}